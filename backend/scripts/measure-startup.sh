@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request and resident memory of a packaged build.
+#
+# Starts the application RUNS times, polls URL until it answers 200, and
+# reports for each run the milliseconds from launch to the first successful
+# response and the VmRSS of the process at that moment, followed by the
+# median of both. The database configured through the usual environment
+# variables (QUARKUS_DATASOURCE_JDBC_URL, ...; see .env.example) must be reachable.
+#
+# Usage, from the backend folder:
+#
+#   ./mvnw package -Pfast-startup -DskipTests
+#   scripts/measure-startup.sh jvm
+#   scripts/measure-startup.sh jvm-cds
+#
+#   ./mvnw package -Dnative -DskipTests
+#   scripts/measure-startup.sh native
+#
+# Environment:
+#   RUNS     number of launches (default 10)
+#   URL      endpoint polled for the first request (default http://localhost:8080/account?limit=1)
+#   PROFILE  Quarkus profile of the measured process (default prod,fast-startup)
+
+set -euo pipefail
+
+MODE=${1:-jvm}
+RUNS=${RUNS:-10}
+URL=${URL:-http://localhost:8080/account?limit=1}
+PROFILE=${PROFILE:-prod,fast-startup}
+
+cd "$(dirname "$0")/.."
+
+case "$MODE" in
+    jvm)
+        CMD=(java -jar target/quarkus-app/quarkus-run.jar)
+        ;;
+    jvm-cds)
+        [[ -f target/quarkus-app/app-cds.jsa ]] || { echo "target/quarkus-app/app-cds.jsa not found, build with -Pfast-startup" >&2; exit 1; }
+        CMD=(java -XX:SharedArchiveFile=target/quarkus-app/app-cds.jsa -jar target/quarkus-app/quarkus-run.jar)
+        ;;
+    native)
+        RUNNER=$(ls target/*-runner 2>/dev/null | head -n 1)
+        [[ -n "$RUNNER" ]] || { echo "No native runner in target, build with -Dnative" >&2; exit 1; }
+        CMD=("$RUNNER")
+        ;;
+    *)
+        echo "Usage: $0 jvm|jvm-cds|native" >&2
+        exit 1
+        ;;
+esac
+
+now_ms() {
+    date +%s%3N
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+STARTUP=()
+RSS=()
+for ((run = 1; run <= RUNS; run++)); do
+    start=$(now_ms)
+    QUARKUS_PROFILE=$PROFILE "${CMD[@]}" > /dev/null 2>&1 &
+    pid=$!
+
+    until curl -fs -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Run $run: the application exited before answering $URL" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+
+    STARTUP+=("$elapsed")
+    RSS+=("$rss")
+    printf 'run %2d: first request after %5d ms, RSS %7d kB\n' "$run" "$elapsed" "$rss"
+done
+
+printf '%s: median first request after %d ms, median RSS %d kB over %d runs\n' "$MODE" \
+    "$(printf '%s\n' "${STARTUP[@]}" | median)" "$(printf '%s\n' "${RSS[@]}" | median)" "$RUNS"
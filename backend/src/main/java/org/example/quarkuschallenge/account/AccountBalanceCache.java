@@ -0,0 +1,62 @@
+package org.example.quarkuschallenge.account;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+/**
+ * Read-through cache of effective balances by account number, backed by the
+ * bounded {@code account-balance} Caffeine cache.
+ * <p>
+ * Entries are invalidated only after the write that changed them has
+ * committed, so a reader can never repopulate the cache from the state before
+ * the commit once the invalidation has run. A load that is still in flight
+ * when its key is invalidated completes for its own caller but is not stored.
+ * Folding the ledger into the stored balances leaves effective balances
+ * unchanged and therefore invalidates nothing. Misses are loaded from a read
+ * replica when one is fresh; {@link org.example.quarkuschallenge.shard.ReadReplicaRouter}
+ * keeps accounts written since the replica's last check on the primary, so an
+ * invalidated balance is never reloaded from a replica that has not replayed
+ * the write yet.
+ * <p>
+ * Invalidation is local to this instance. A write made by another instance is
+ * only seen once the entry expires, so the short {@code expire-after-write}
+ * is the bound on how stale a balance can be behind a load balancer.
+ */
+@ApplicationScoped
+public class AccountBalanceCache {
+
+    @Inject
+    @CacheName("account-balance")
+    Cache cache;
+
+    @Inject
+    AccountService accountService;
+
+    /**
+     * Returns the effective balance in minor units, loading it on a miss.
+     * Throws {@code NotFoundException} for an unknown account, which is not cached.
+     */
+    public long balance(String accountNumber) {
+        return cache.get(accountNumber, key -> accountService.getBalanceFromReplica(key))
+                .await().indefinitely();
+    }
+
+    void onBalanceChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) BalanceChangedEvent event) {
+        invalidate(event);
+    }
+
+    void onBalanceChangedAsync(@ObservesAsync BalanceChangedEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(BalanceChangedEvent event) {
+        for (String accountNumber : event.accountNumbers()) {
+            cache.invalidate(accountNumber).await().indefinitely();
+        }
+    }
+}
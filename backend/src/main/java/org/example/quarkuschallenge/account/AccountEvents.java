@@ -0,0 +1,101 @@
+package org.example.quarkuschallenge.account;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.operators.multi.processors.SerializedProcessor;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+
+/**
+ * Broadcasts the committed state of every account whose balance changed to
+ * the subscribers of {@link #updates}.
+ * <p>
+ * A change is looked up once, however many clients are subscribed, and only
+ * while at least one is. The lookups run one after another on a single
+ * publisher thread after the commit, through
+ * {@link AccountService#getAccountFromReplica}, which reads accounts written
+ * moments ago from the primary, so the published balance is never older than
+ * the write that triggered it. Since each lookup starts after the previous one
+ * was emitted, two quick writes to one account cannot reach subscribers in
+ * reverse order; the last update always carries the latest balance. A client that falls more than
+ * {@value #CLIENT_BUFFER_SIZE} updates behind is disconnected instead of
+ * slowing down the others, and has to load the accounts again when it
+ * reconnects.
+ */
+@ApplicationScoped
+public class AccountEvents {
+
+    private static final Logger LOG = Logger.getLogger(AccountEvents.class);
+
+    private static final int CLIENT_BUFFER_SIZE = 256;
+
+    @Inject
+    AccountService accountService;
+
+    // Serialized, since changes committed on several threads are published concurrently.
+    private final SerializedProcessor<AccountModel, AccountModel> processor = BroadcastProcessor
+            .<AccountModel> create().serialized();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "account-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    void stop() {
+        publisher.shutdownNow();
+    }
+
+    /**
+     * Updates of the listed accounts, or of every account when
+     * {@code accountNumbers} is empty.
+     */
+    public Multi<AccountModel> updates(Set<String> accountNumbers) {
+        return Multi.createFrom().publisher(processor)
+                .select().where(account -> accountNumbers.isEmpty()
+                        || accountNumbers.contains(account.getAccountNumber()))
+                .onOverflow().buffer(CLIENT_BUFFER_SIZE)
+                .onSubscription().invoke(subscribers::incrementAndGet)
+                .onTermination().invoke(subscribers::decrementAndGet);
+    }
+
+    void onBalanceChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) BalanceChangedEvent event) {
+        publish(event);
+    }
+
+    void onBalanceChangedAsync(@ObservesAsync BalanceChangedEvent event) {
+        publish(event);
+    }
+
+    private void publish(BalanceChangedEvent event) {
+        if (subscribers.get() == 0) {
+            return;
+        }
+        publisher.execute(() -> {
+            for (String accountNumber : event.accountNumbers()) {
+                try {
+                    processor.onNext(accountService.getAccountFromReplica(accountNumber));
+                } catch (NotFoundException e) {
+                    // Deleted since, nothing left to publish.
+                } catch (RuntimeException e) {
+                    LOG.warnf(e, "Publishing the balance of %s failed", accountNumber);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.quarkuschallenge.account;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * In-JVM striped locks keyed by account number. Transfers touching the same
+ * accounts queue here, before a transaction is started, instead of each
+ * holding a pooled database connection while waiting for a row lock.
+ */
+@ApplicationScoped
+public class AccountLocks {
+
+    @ConfigProperty(name = "account.lock.stripes", defaultValue = "1024")
+    int stripeCount;
+
+    @ConfigProperty(name = "account.lock.timeout", defaultValue = "PT5S")
+    Duration timeout;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private ReentrantLock[] stripes;
+    private Timer acquiredWait;
+    private Timer timedOutWait;
+
+    @PostConstruct
+    void init() {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        acquiredWait = lockWaitTimer("acquired");
+        timedOutWait = lockWaitTimer("timeout");
+    }
+
+    private Timer lockWaitTimer(String result) {
+        return Timer.builder("account.lock.wait")
+                .description("Time spent waiting for an account lock stripe")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} while holding the stripes of both accounts. Stripes
+     * are always taken in index order, so two callers locking the same pair in
+     * opposite directions cannot deadlock.
+     */
+    public void runLocked(String firstAccount, String secondAccount, Runnable action) {
+        callLocked(List.of(firstAccount, secondAccount), () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the result of {@code action}, computed while holding the stripes
+     * of every listed account. Stripes are taken in index order and each one
+     * only once, however many of the accounts share it.
+     *
+     * @throws LockTimeoutException if a stripe is not free within the timeout
+     */
+    public <T> T callLocked(Collection<String> accountNumbers, Supplier<T> action) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String accountNumber : accountNumbers) {
+            indexes.add(stripeIndex(accountNumber));
+        }
+
+        Deque<ReentrantLock> held = new ArrayDeque<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                held.push(stripes[index]);
+            }
+            return action.get();
+        } finally {
+            while (!held.isEmpty()) {
+                held.pop().unlock();
+            }
+        }
+    }
+
+    private int stripeIndex(String accountNumber) {
+        return Math.floorMod(accountNumber.hashCode(), stripes.length);
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            acquiredWait.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean acquired = lock.tryLock(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            (acquired ? acquiredWait : timedOutWait).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                throw new LockTimeoutException("Timed out waiting for account lock");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LockTimeoutException("Interrupted while waiting for account lock", e);
+        }
+    }
+}
@@ -1,21 +1,51 @@
 package org.example.quarkuschallenge.account;
 
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
+/**
+ * The account number is the immutable natural id. Its resolution to the
+ * primary key is kept in the second-level cache; the entity itself is not
+ * cached, because its balance is also written by bulk updates, the reactive
+ * client and the ledger fold, none of which go through the entity.
+ * <p>
+ * Ids are taken from {@code AccountModel_SEQ} in blocks of 500, so inserts
+ * need no round trip for their key and are sent as JDBC batches.
+ */
 @Entity
+@NaturalIdCache
+@Table(indexes = @Index(name = "accountmodel_accountnumber_key", columnList = "accountNumber", unique = true))
+@RegisterForReflection
 public class AccountModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "AccountModel_SEQ")
+    @SequenceGenerator(name = "AccountModel_SEQ", sequenceName = "AccountModel_SEQ", allocationSize = 500)
     private Long id;
 
     private String firstName;
     private String lastName;
+
+    @NaturalId
     private String accountNumber;
-    private double balance;
+    /**
+     * Balance in minor units, see {@link MinorUnits}.
+     */
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    @JsonDeserialize(using = MinorUnitsDeserializer.class)
+    private long balance;
 
     public Long getId() {
         return id;
@@ -49,11 +79,11 @@ public class AccountModel {
         this.accountNumber = accountNumber;
     }
 
-    public double getBalance() {
+    public long getBalance() {
         return balance;
     }
 
-    public void setBalance(double balance) {
+    public void setBalance(long balance) {
         this.balance = balance;
     }
 }
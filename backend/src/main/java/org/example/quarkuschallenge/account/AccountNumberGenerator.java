@@ -0,0 +1,15 @@
+package org.example.quarkuschallenge.account;
+
+/**
+ * Produces the account number of a new account. The default is
+ * {@link TimeOrderedAccountNumberGenerator}; an application bean implementing
+ * this interface replaces it.
+ */
+public interface AccountNumberGenerator {
+
+    /**
+     * Returns a new, unique account number in the canonical 36 character UUID
+     * format. Called concurrently.
+     */
+    String next();
+}
@@ -1,8 +1,188 @@
 package org.example.quarkuschallenge.account;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.example.quarkuschallenge.account.output.AccountSummary;
+import org.hibernate.jpa.HibernateHints;
+
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
 
 @ApplicationScoped
 public class AccountRepository implements PanacheRepository<AccountModel> {
+
+    /**
+     * First key of the advisory locks taken by {@link #lockForDebit}, so they
+     * cannot collide with advisory locks taken for anything else.
+     */
+    private static final int DEBIT_LOCK_CLASS = 1;
+
+    /**
+     * Net amount of an account's ledger entries that the snapshot job has not
+     * folded into the stored balance yet.
+     */
+    private static final String UNAPPLIED = "(select coalesce(sum(e.amount), 0) from LedgerEntryModel e"
+            + " where e.accountNumber = a.accountNumber and e.applied = false)";
+
+    private static final String UNAPPLIED_DEBITS = "(select coalesce(sum(e.amount), 0) from LedgerEntryModel e"
+            + " where e.accountNumber = a.accountNumber and e.applied = false and e.amount < 0)";
+
+    private static final String EFFECTIVE = "select a, " + UNAPPLIED + " from AccountModel a ";
+
+    /**
+     * Like {@link #EFFECTIVE}, but builds {@link AccountSummary} objects from
+     * the columns instead of entities, so nothing is added to the persistence
+     * context or dirty-checked at flush.
+     */
+    private static final String SUMMARY = "select new " + AccountSummary.class.getName()
+            + "(a.id, a.firstName, a.lastName, a.accountNumber, a.balance + " + UNAPPLIED + ")"
+            + " from AccountModel a ";
+
+    /**
+     * Finds the account with its effective balance, the stored balance plus
+     * unapplied ledger entries, read in one statement so a concurrent fold is
+     * never counted twice. The returned entity is detached.
+     */
+    public AccountModel findEffectiveByAccountNumber(String accountNumber) {
+        return getEntityManager().createQuery(EFFECTIVE + "where a.accountNumber = ?1", Object[].class)
+                .setParameter(1, accountNumber)
+                .getResultStream()
+                .map(this::effective)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * The effective balance alone, or {@code null} for an unknown account.
+     * Selects a single value instead of loading the entity.
+     */
+    public Long findEffectiveBalance(String accountNumber) {
+        return getEntityManager().createQuery("select a.balance + " + UNAPPLIED
+                + " from AccountModel a where a.accountNumber = ?1", Long.class)
+                .setParameter(1, accountNumber)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    public List<AccountModel> findEffectiveByAccountNumbers(Collection<String> accountNumbers) {
+        return getEntityManager().createQuery(EFFECTIVE + "where a.accountNumber in ?1", Object[].class)
+                .setParameter(1, accountNumbers)
+                .getResultStream()
+                .map(this::effective)
+                .toList();
+    }
+
+    private AccountModel effective(Object[] row) {
+        AccountModel account = (AccountModel) row[0];
+        // Detached first, so the adjusted balance is never flushed back to the row.
+        getEntityManager().detach(account);
+        account.setBalance(MinorUnits.add(account.getBalance(), (Long) row[1]));
+        return account;
+    }
+
+    /**
+     * Keyset page ordered by id: everything strictly after {@code afterId}, so
+     * the cost of a page does not grow with how deep into the table it is.
+     * Balances are effective.
+     */
+    public List<AccountSummary> findPageAfter(long afterId, int size) {
+        return getEntityManager().createQuery(SUMMARY + "where a.id > ?1 order by a.id", AccountSummary.class)
+                .setParameter(1, afterId)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Streams all accounts with their effective balances ordered by id using a
+     * server-side cursor, fetching {@code fetchSize} rows per round trip. Must
+     * be consumed inside a transaction.
+     */
+    public Stream<AccountSummary> streamAllOrderedById(int fetchSize) {
+        return getEntityManager().createQuery(SUMMARY + "order by a.id", AccountSummary.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    /**
+     * Subtracts {@code amount} only if the balance, less unapplied ledger
+     * debits, covers it. Returns the number of updated rows, so 0 means the
+     * account is missing or has too little money.
+     * <p>
+     * Unapplied credits are deliberately ignored. When this update waits for a
+     * concurrent fold, Postgres rechecks the condition against the folded row
+     * but the statement's original snapshot of the ledger, so entries from that
+     * fold are counted twice. Counting only debits keeps that error on the safe
+     * side.
+     */
+    public int debitIfSufficient(String accountNumber, long amount) {
+        return getEntityManager().createQuery("update AccountModel a set a.balance = a.balance - ?1"
+                + " where a.accountNumber = ?2 and a.balance + " + UNAPPLIED_DEBITS + " >= ?1")
+                .setParameter(1, amount)
+                .setParameter(2, accountNumber)
+                .executeUpdate();
+    }
+
+    /**
+     * Takes a transaction-scoped Postgres advisory lock for each account, held
+     * until the transaction ends. Debits that check a balance against the
+     * ledger take it first, so they are serialised across every instance of
+     * the application and not only within one JVM like {@link AccountLocks}.
+     * The locks are keyed by the CRC32 of the account number and taken in key
+     * order, so callers locking several accounts cannot deadlock each other.
+     */
+    public void lockForDebit(Collection<String> accountNumbers) {
+        TreeSet<Integer> keys = new TreeSet<>();
+        CRC32 crc = new CRC32();
+        for (String accountNumber : accountNumbers) {
+            crc.reset();
+            crc.update(accountNumber.getBytes(StandardCharsets.UTF_8));
+            keys.add((int) crc.getValue());
+        }
+        for (int key : keys) {
+            getEntityManager().createNativeQuery("SELECT true FROM pg_advisory_xact_lock(?1, ?2)")
+                    .setParameter(1, DEBIT_LOCK_CLASS)
+                    .setParameter(2, key)
+                    .getSingleResult();
+        }
+    }
+
+    public int credit(String accountNumber, long amount) {
+        return update("balance = balance + ?1 where accountNumber = ?2", amount, accountNumber);
+    }
+
+    /**
+     * Loads the account through its natural id. The id resolution is served by
+     * the natural-id cache when possible, and by the unique index otherwise.
+     */
+    public AccountModel findByAccountNumber(String accountNumber) {
+        return getSession().bySimpleNaturalId(AccountModel.class).load(accountNumber);
+    }
+
+    public boolean existsByAccountNumber(String accountNumber) {
+        return count("accountNumber", accountNumber) > 0;
+    }
+
+    public AccountModel findByAccountNumberForUpdate(String accountNumber) {
+        return find("accountNumber", accountNumber)
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .firstResult();
+    }
+
+    /**
+     * Loads and locks every listed account with a single query. Rows are locked
+     * in account number order, the same order the transfer engines use.
+     */
+    public List<AccountModel> findAllByAccountNumbersForUpdate(Collection<String> accountNumbers) {
+        return find("accountNumber in ?1", Sort.by("accountNumber"), accountNumbers)
+                .withLock(LockModeType.PESSIMISTIC_WRITE)
+                .list();
+    }
 }
@@ -1,31 +1,79 @@
 package org.example.quarkuschallenge.account;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.example.quarkuschallenge.account.input.AccountInput;
 import org.example.quarkuschallenge.account.input.DepositeInput;
 import org.example.quarkuschallenge.account.input.TransferInput;
+import org.example.quarkuschallenge.account.output.BatchTransferResult;
+import org.example.quarkuschallenge.idempotency.IdempotencyService;
+import org.example.quarkuschallenge.ledger.LedgerAppendTimeoutException;
+import org.example.quarkuschallenge.ledger.LedgerEntryModel;
+import org.example.quarkuschallenge.ledger.LedgerEntryType;
+import org.example.quarkuschallenge.ledger.LedgerHistoryFilter;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
+/**
+ * Blocking account endpoints. Each method is marked {@link RunOnVirtualThread};
+ * when the application is built with {@code quarkus.virtual-threads.enabled=true}
+ * they run on virtual threads, otherwise on the worker pool. The event stream
+ * does not block and stays on the event loop.
+ */
 @Path("/account")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class AccountResource {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @Inject
     AccountService accountService;
 
+    @Inject
+    AccountBalanceCache accountBalanceCache;
+
+    @Inject
+    AccountEvents accountEvents;
+
+    @Inject
+    IdempotencyService idempotencyService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     @POST
+    @RunOnVirtualThread
     public AccountModel createAccount(AccountInput input) {
         try {
             return accountService.createAccount(input);
@@ -36,18 +84,55 @@ public class AccountResource {
         }
     }
 
+    /**
+     * Creates every account of the list in one transaction per shard and
+     * returns them in the same order.
+     */
     @POST
+    @RunOnVirtualThread
+    @Path("/bulk")
+    public Response createAccounts(List<AccountInput> inputs) {
+        try {
+            return Response.ok(accountService.createAccounts(inputs)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * With an {@code Idempotency-Key} header the deposit runs at most once per
+     * key; retries get the first response back, see {@link IdempotencyService}.
+     */
+    @POST
+    @RunOnVirtualThread
     @Path("/{accountNumber}/deposit")
-    public AccountModel depositMoney(@PathParam("accountNumber") String accountNumber, DepositeInput input) {
+    public Response depositMoney(@PathParam("accountNumber") String accountNumber, DepositeInput input,
+            @HeaderParam(IdempotencyService.HEADER) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return deposit(accountNumber, input);
+        }
+        return idempotencyService.execute(idempotencyKey, "deposit " + accountNumber + " " + input.getAmount(),
+                () -> deposit(accountNumber, input));
+    }
+
+    private Response deposit(String accountNumber, DepositeInput input) {
         try {
-            return accountService.depositMoney(accountNumber, input.getAmount());
+            return Response.ok(accountService.depositMoney(accountNumber, input.getAmount())).build();
         } catch (NotFoundException e) {
             throw new jakarta.ws.rs.WebApplicationException(
                     Response.status(Response.Status.NOT_FOUND).build());
         } catch (IllegalArgumentException e) {
+            throw new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build());
+        } catch (ArithmeticException e) {
             throw new jakarta.ws.rs.WebApplicationException(
                     Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error",
-                            "Amount must be greater than 0")).build());
+                            "Deposit would overflow the account balance")).build());
+        } catch (LedgerAppendTimeoutException e) {
+            throw new jakarta.ws.rs.WebApplicationException(notApplied(e));
         } catch (Exception e) {
             e.printStackTrace();
             throw new jakarta.ws.rs.WebApplicationException(
@@ -55,10 +140,23 @@ public class AccountResource {
         }
     }
 
+    /**
+     * Accepts an {@code Idempotency-Key} header like {@link #depositMoney}.
+     */
     @POST
+    @RunOnVirtualThread
     @Path("/transfer")
     @Consumes(MediaType.APPLICATION_JSON)
-    public Response transferMoney(TransferInput input) {
+    public Response transferMoney(TransferInput input,
+            @HeaderParam(IdempotencyService.HEADER) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return transfer(input);
+        }
+        return idempotencyService.execute(idempotencyKey, "transfer " + input.getFromAccount() + " "
+                + input.getToAccount() + " " + input.getAmount(), () -> transfer(input));
+    }
+
+    private Response transfer(TransferInput input) {
         try {
             accountService.transferMoney(input.getFromAccount(), input.getToAccount(), input.getAmount());
             return Response.ok(Map.of("message", "Transfer successful")).build();
@@ -86,18 +184,52 @@ public class AccountResource {
             } else {
                 throw e;
             }
+        } catch (LockTimeoutException | LedgerAppendTimeoutException e) {
+            return notApplied(e);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @POST
+    @RunOnVirtualThread
+    @Path("/transfers/batch")
+    public Response transferBatch(List<TransferInput> inputs,
+            @QueryParam("mode") @DefaultValue("all-or-nothing") BatchMode mode) {
+        try {
+            BatchTransferResult result = accountService.transferBatch(inputs, mode);
+            Response.Status status = result.isCommitted() ? Response.Status.OK : Response.Status.BAD_REQUEST;
+            return Response.status(status).entity(result).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+        } catch (LockTimeoutException | LedgerAppendTimeoutException e) {
+            return notApplied(e);
         } catch (Exception e) {
             e.printStackTrace();
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * A write that gave up before changing anything, because an account lock
+     * or the ledger writer was busy. Answered with {@code 503}, which tells
+     * clients and {@link IdempotencyService} that a retry is safe.
+     */
+    private static Response notApplied(RuntimeException e) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", RETRY_AFTER_SECONDS)
+                .entity(Map.of("error", e.getMessage()))
+                .build();
+    }
+
     @GET
+    @RunOnVirtualThread
     @Path("/{accountNumber}/balance")
     public Response getAccountBalance(@PathParam("accountNumber") String accountNumber) {
         try {
-            AccountModel account = accountService.getAccount(accountNumber);
-            return Response.ok(Map.of("balance", account.getBalance())).build();
+            return Response.ok(Map.of("balance", MinorUnits.toMajor(accountBalanceCache.balance(accountNumber))))
+                    .build();
         } catch (NotFoundException e) {
             throw new jakarta.ws.rs.WebApplicationException(
                     Response.status(Response.Status.NOT_FOUND).build());
@@ -108,14 +240,122 @@ public class AccountResource {
         }
     }
 
+    /**
+     * Server-sent events carrying an account, with its effective balance, each
+     * time a committed write changed it. Limited to the accounts given as
+     * {@code account} parameters, or every account without one. Accounts
+     * created after subscribing are included in the unfiltered stream.
+     */
+    @GET
+    @Path("/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<AccountModel> getAccountEvents(@QueryParam("account") List<String> accountNumbers) {
+        return accountEvents.updates(new HashSet<>(accountNumbers));
+    }
+
+    /**
+     * Without paging parameters every account is streamed as a JSON array while
+     * it is read from the database. With {@code limit} and/or {@code after} a
+     * single keyset page is returned together with the cursor for the next one.
+     */
     @GET
-    public Response getAllAccounts() {
+    @RunOnVirtualThread
+    public Response getAllAccounts(@QueryParam("limit") Integer limit, @QueryParam("after") Long after) {
+        if (limit == null && after == null) {
+            return Response.ok(streamAllAccounts()).build();
+        }
+
         try {
-            return Response.ok(accountService.getAllAccounts()).build();
+            return Response.ok(accountService.getAccountPage(after == null ? 0 : after,
+                    limit == null ? DEFAULT_PAGE_SIZE : limit)).build();
+        } catch (IllegalArgumentException e) {
+            throw new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build());
         } catch (Exception e) {
             e.printStackTrace();
             throw new jakarta.ws.rs.WebApplicationException(
                     Response.status(Response.Status.INTERNAL_SERVER_ERROR).build());
         }
     }
+
+    /**
+     * Ledger entries of the account, newest first, optionally restricted to a
+     * {@code from} (inclusive) / {@code to} (exclusive) ISO-8601 time range and
+     * to one or more {@code type}s. Streamed like {@link #getAllAccounts}
+     * without paging parameters, otherwise one keyset page.
+     */
+    @GET
+    @RunOnVirtualThread
+    @Path("/{accountNumber}/transactions")
+    public Response getTransactions(@PathParam("accountNumber") String accountNumber,
+            @QueryParam("from") String from, @QueryParam("to") String to, @QueryParam("type") List<String> types,
+            @QueryParam("limit") Integer limit, @QueryParam("after") String after) {
+        try {
+            LedgerHistoryFilter filter = historyFilter(accountNumber, from, to, types);
+            if (limit == null && after == null) {
+                // Checked up front: once streaming has started the status can no longer change.
+                accountService.getAccount(accountNumber);
+                return Response.ok(this.<LedgerEntryModel> streamJsonArray(
+                        consumer -> accountService.streamTransactions(filter, consumer))).build();
+            }
+            return Response.ok(accountService.getTransactionPage(filter, after,
+                    limit == null ? DEFAULT_PAGE_SIZE : limit)).build();
+        } catch (NotFoundException e) {
+            throw new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.NOT_FOUND).build());
+        } catch (IllegalArgumentException e) {
+            throw new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build());
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.INTERNAL_SERVER_ERROR).build());
+        }
+    }
+
+    private static LedgerHistoryFilter historyFilter(String accountNumber, String from, String to,
+            List<String> types) {
+        Set<LedgerEntryType> entryTypes = EnumSet.noneOf(LedgerEntryType.class);
+        for (String type : types) {
+            try {
+                entryTypes.add(LedgerEntryType.valueOf(type.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid type: " + type + ", expected one of "
+                        + Arrays.toString(LedgerEntryType.values()));
+            }
+        }
+        try {
+            return new LedgerHistoryFilter(accountNumber, from == null ? null : Instant.parse(from),
+                    to == null ? null : Instant.parse(to), entryTypes);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid timestamp: " + e.getParsedString());
+        }
+    }
+
+    private StreamingOutput streamAllAccounts() {
+        return streamJsonArray(accountService::streamAllAccounts);
+    }
+
+    /**
+     * Writes every item {@code source} produces as one JSON array, serializing
+     * each item as soon as it is handed over.
+     */
+    private <T> StreamingOutput streamJsonArray(Consumer<Consumer<T>> source) {
+        return output -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.writeStartArray();
+                source.accept(item -> {
+                    try {
+                        generator.writeObject(item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
 }
@@ -1,62 +1,313 @@
 package org.example.quarkuschallenge.account;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.account.input.TransferInput;
+import org.example.quarkuschallenge.account.output.AccountSummary;
+import org.example.quarkuschallenge.account.output.BatchTransferResult;
+import org.example.quarkuschallenge.account.output.CursorPage;
+import org.example.quarkuschallenge.account.output.TransferResult;
 import org.example.quarkuschallenge.currency.CurrencyService;
+import org.example.quarkuschallenge.ledger.LedgerCursor;
+import org.example.quarkuschallenge.ledger.LedgerEntryModel;
+import org.example.quarkuschallenge.ledger.LedgerHistoryFilter;
+import org.example.quarkuschallenge.ledger.LedgerRepository;
+import org.example.quarkuschallenge.ledger.LedgerWriter;
+import org.example.quarkuschallenge.shard.CrossShardTransferService;
+import org.example.quarkuschallenge.shard.ReadReplicaRouter;
+import org.example.quarkuschallenge.shard.ShardRouter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 
+/**
+ * Account operations. Every public method selects the shard of the accounts it
+ * touches with {@link ShardRouter} before its transaction starts; transfers
+ * between accounts on different shards are handed to
+ * {@link CrossShardTransferService}. Balance and account list reads go
+ * through {@link ReadReplicaRouter} instead, which may serve them from a read
+ * replica of the shard.
+ */
 @ApplicationScoped
 public class AccountService {
     private final AccountRepository accountRepository;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final AccountLocks accountLocks;
+    private final LedgerRepository ledgerRepository;
+    private final LedgerWriter ledgerWriter;
+    private final ShardRouter shardRouter;
+    private final ReadReplicaRouter readReplicaRouter;
+    private final CrossShardTransferService crossShardTransfers;
+    private final MeterRegistry meterRegistry;
+    private final Event<BalanceChangedEvent> balanceChanged;
 
-    public AccountService(AccountRepository accountRepository, CurrencyService exchangeRateService) {
+    @ConfigProperty(name = "account.transfer.engine", defaultValue = "atomic")
+    TransferEngine transferEngine;
+
+    @ConfigProperty(name = "account.transfer.batch.max-size", defaultValue = "10000")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "account.create.bulk.max-size", defaultValue = "100000")
+    int maxBulkSize;
+
+    @ConfigProperty(name = "account.create.bulk.flush-size", defaultValue = "1000")
+    int bulkFlushSize;
+
+    @ConfigProperty(name = "account.page.max-size", defaultValue = "1000")
+    int maxPageSize;
+
+    @ConfigProperty(name = "account.stream.fetch-size", defaultValue = "500")
+    int streamFetchSize;
+
+    public AccountService(AccountRepository accountRepository, AccountNumberGenerator accountNumberGenerator,
+            AccountLocks accountLocks, CurrencyService exchangeRateService, LedgerRepository ledgerRepository,
+            LedgerWriter ledgerWriter, ShardRouter shardRouter, ReadReplicaRouter readReplicaRouter,
+            CrossShardTransferService crossShardTransfers, MeterRegistry meterRegistry,
+            Event<BalanceChangedEvent> balanceChanged) {
         this.accountRepository = accountRepository;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.accountLocks = accountLocks;
+        this.ledgerRepository = ledgerRepository;
+        this.ledgerWriter = ledgerWriter;
+        this.shardRouter = shardRouter;
+        this.readReplicaRouter = readReplicaRouter;
+        this.crossShardTransfers = crossShardTransfers;
+        this.meterRegistry = meterRegistry;
+        this.balanceChanged = balanceChanged;
     }
 
-    @Transactional
     public AccountModel createAccount(AccountInput input) {
+        String accountNumber = accountNumberGenerator.next();
+        return shardRouter.call(shardRouter.shardOf(accountNumber), () -> persistAccount(input, accountNumber));
+    }
+
+    @Transactional
+    AccountModel persistAccount(AccountInput input, String accountNumber) {
+        AccountModel account = newAccount(input, accountNumber);
+        accountRepository.persist(account);
+        balanceChanged.fire(BalanceChangedEvent.of(account.getAccountNumber()));
+        return account;
+    }
+
+    /**
+     * Creates the accounts with one transaction per shard, usually a single
+     * one. Ids are allocated in blocks by the sequence, so the inserts are sent
+     * as JDBC batches; the persistence context is flushed and cleared every
+     * {@code account.create.bulk.flush-size} accounts to keep it small. No
+     * {@link BalanceChangedEvent} is fired: a new account's balance cannot be
+     * cached yet, and publishing every account of an import one by one would
+     * cost more than the import.
+     */
+    public List<AccountModel> createAccounts(List<AccountInput> inputs) {
+        if (inputs.isEmpty() || inputs.size() > maxBulkSize) {
+            throw new IllegalArgumentException("Bulk must contain between 1 and " + maxBulkSize + " accounts");
+        }
+
+        List<AccountModel> accounts = new ArrayList<>(inputs.size());
+        Map<String, List<AccountModel>> byShard = new HashMap<>();
+        for (AccountInput input : inputs) {
+            if (input == null) {
+                throw new IllegalArgumentException("Bulk must not contain null accounts");
+            }
+            AccountModel account = newAccount(input, accountNumberGenerator.next());
+            accounts.add(account);
+            byShard.computeIfAbsent(shardRouter.shardOf(account.getAccountNumber()), shard -> new ArrayList<>())
+                    .add(account);
+        }
+        byShard.forEach((shard, shardAccounts) -> shardRouter.run(shard, () -> persistAccounts(shardAccounts)));
+        return accounts;
+    }
+
+    @Transactional
+    void persistAccounts(List<AccountModel> accounts) {
+        EntityManager entityManager = accountRepository.getEntityManager();
+        for (int i = 0; i < accounts.size(); i++) {
+            entityManager.persist(accounts.get(i));
+            if ((i + 1) % bulkFlushSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+
+    private static AccountModel newAccount(AccountInput input, String accountNumber) {
         AccountModel account = new AccountModel();
         account.setFirstName(input.getFirstName());
         account.setLastName(input.getLastName());
-        account.setAccountNumber(UUID.randomUUID().toString());
-        account.setBalance(0.0);
-        accountRepository.persist(account);
+        account.setAccountNumber(accountNumber);
+        account.setBalance(0);
         return account;
     }
 
-    @Transactional
-    public AccountModel depositMoney(String accountNumber, double amount) {
+    public AccountModel depositMoney(String accountNumber, long amount) {
+        return depositMoney(accountNumber, amount, transferEngine);
+    }
+
+    /**
+     * With the ledger engine the deposit is only appended to the ledger; every
+     * other engine updates the row and records an applied entry alongside.
+     */
+    public AccountModel depositMoney(String accountNumber, long amount, TransferEngine engine) {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be greater than 0");
         }
 
-        AccountModel account = accountRepository.find("accountNumber", accountNumber).firstResult();
+        if (engine == TransferEngine.LEDGER) {
+            getAccount(accountNumber);
+            ledgerWriter.append(List.of(LedgerEntryModel.deposit(accountNumber, amount, false)));
+            balanceChanged.fire(BalanceChangedEvent.of(accountNumber));
+            return getAccount(accountNumber);
+        }
+        return shardRouter.call(shardRouter.shardOf(accountNumber), () -> deposit(accountNumber, amount));
+    }
+
+    @Transactional
+    AccountModel deposit(String accountNumber, long amount) {
+        AccountModel account = accountRepository.findByAccountNumber(accountNumber);
         if (account == null) {
             throw new NotFoundException("Account not found");
         }
-        account.setBalance(account.getBalance() + amount);
+        account.setBalance(MinorUnits.add(account.getBalance(), amount));
         accountRepository.persist(account);
-        return account;
+        ledgerRepository.persist(LedgerEntryModel.deposit(accountNumber, amount, true));
+        balanceChanged.fire(BalanceChangedEvent.of(accountNumber));
+        return accountRepository.findEffectiveByAccountNumber(accountNumber);
     }
 
-    @Transactional
-    public void transferMoney(String fromAccount, String toAccount, double amount) {
+    public void transferMoney(String fromAccount, String toAccount, long amount) {
+        transferMoney(fromAccount, toAccount, amount, transferEngine);
+    }
+
+    public void transferMoney(String fromAccount, String toAccount, long amount, TransferEngine engine) {
         if (amount <= 0) {
+            countTransfer(engine, "invalid_amount");
             throw new IllegalArgumentException("Amount must be greater than 0");
         }
 
         if (fromAccount.equals(toAccount)) {
+            countTransfer(engine, "same_account");
             throw new IllegalArgumentException("Source and destination accounts must be different");
         }
 
-        AccountModel source = accountRepository.find("accountNumber", fromAccount).firstResult();
-        AccountModel destination = accountRepository.find("accountNumber", toAccount).firstResult();
+        String shard = shardRouter.commonShardOf(List.of(fromAccount, toAccount));
+        try {
+            if (shard == null) {
+                crossShardTransfers.transfer(fromAccount, toAccount, amount);
+            } else if (engine == TransferEngine.LOCKING) {
+                // The striped lock is taken outside the transaction so waiting requests hold no connection.
+                accountLocks.runLocked(fromAccount, toAccount,
+                        () -> shardRouter.run(shard, () -> transfer(fromAccount, toAccount, amount, engine)));
+            } else if (engine == TransferEngine.LEDGER) {
+                // Only a debit can overdraw an account, so only the source stripe is held. It keeps requests of
+                // this instance queueing in memory; the advisory lock in the transaction covers the other instances.
+                accountLocks.callLocked(List.of(fromAccount), () -> {
+                    shardRouter.run(shard, () -> transferToLedger(fromAccount, toAccount, amount));
+                    balanceChanged.fire(BalanceChangedEvent.of(fromAccount, toAccount));
+                    return null;
+                });
+            } else if (transferEngine == TransferEngine.LEDGER) {
+                // Ledger transfers check the balance under the source locks, so a row debit has to take them too.
+                accountLocks.callLocked(List.of(fromAccount), () -> {
+                    shardRouter.run(shard, () -> transfer(fromAccount, toAccount, amount, engine));
+                    return null;
+                });
+            } else {
+                shardRouter.run(shard, () -> transfer(fromAccount, toAccount, amount, engine));
+            }
+        } catch (NotFoundException e) {
+            countTransfer(engine, "not_found");
+            throw e;
+        } catch (InsufficientFundsException e) {
+            countTransfer(engine, "insufficient_funds");
+            throw e;
+        } catch (LockTimeoutException e) {
+            countTransfer(engine, "lock_timeout");
+            throw e;
+        } catch (RuntimeException e) {
+            countTransfer(engine, "error");
+            throw e;
+        }
+        countTransfer(engine, "success");
+    }
 
+    private void countTransfer(TransferEngine engine, String outcome) {
+        meterRegistry.counter("account.transfers", "engine", engine.name().toLowerCase(), "outcome", outcome)
+                .increment();
+    }
+
+    @Transactional
+    void transfer(String fromAccount, String toAccount, long amount, TransferEngine engine) {
+        if (transferEngine == TransferEngine.LEDGER) {
+            accountRepository.lockForDebit(List.of(fromAccount));
+        }
+        switch (engine) {
+            case ENTITY -> transferWithEntities(fromAccount, toAccount, amount);
+            case ATOMIC -> transferWithGuardedUpdates(fromAccount, toAccount, amount);
+            case LOCKING -> transferWithRowLocks(fromAccount, toAccount, amount);
+            case LEDGER -> throw new IllegalArgumentException("Ledger transfers do not update rows");
+        }
+        ledgerRepository.persist(LedgerEntryModel.transfer(fromAccount, toAccount, amount, true));
+        balanceChanged.fire(BalanceChangedEvent.of(fromAccount, toAccount));
+    }
+
+    /**
+     * Validates a ledger transfer against the effective balance and appends
+     * it. The advisory lock on the source is taken before the check and held
+     * until the writer has committed the entries, so no debit on any instance
+     * can spend the same money in between. The transaction keeps its
+     * connection while the append waits for the group commit.
+     */
+    @Transactional
+    void transferToLedger(String fromAccount, String toAccount, long amount) {
+        accountRepository.lockForDebit(List.of(fromAccount));
+        AccountModel source = accountRepository.findEffectiveByAccountNumber(fromAccount);
+        if (source == null) {
+            throw new NotFoundException("Source account not found");
+        }
+        if (!accountRepository.existsByAccountNumber(toAccount)) {
+            throw new NotFoundException("Destination account not found");
+        }
+        if (source.getBalance() < amount) {
+            throw new InsufficientFundsException();
+        }
+        ledgerWriter.append(LedgerEntryModel.transfer(fromAccount, toAccount, amount, false));
+    }
+
+    private void transferWithEntities(String fromAccount, String toAccount, long amount) {
+        AccountModel source = accountRepository.findByAccountNumber(fromAccount);
+        AccountModel destination = accountRepository.findByAccountNumber(toAccount);
+        applyTransfer(source, destination, amount);
+    }
+
+    /**
+     * Locks both rows in account number order, so two transfers between the
+     * same accounts in opposite directions wait for each other instead of
+     * deadlocking.
+     */
+    private void transferWithRowLocks(String fromAccount, String toAccount, long amount) {
+        boolean sourceFirst = fromAccount.compareTo(toAccount) < 0;
+        AccountModel first = accountRepository.findByAccountNumberForUpdate(sourceFirst ? fromAccount : toAccount);
+        AccountModel second = accountRepository.findByAccountNumberForUpdate(sourceFirst ? toAccount : fromAccount);
+        applyTransfer(sourceFirst ? first : second, sourceFirst ? second : first, amount);
+    }
+
+    private void applyTransfer(AccountModel source, AccountModel destination, long amount) {
         if (source == null) {
             throw new NotFoundException("Source account not found");
         }
@@ -65,28 +316,361 @@ public class AccountService {
             throw new NotFoundException("Destination account not found");
         }
 
-        if (source.getBalance() < amount) {
-            throw new IllegalArgumentException("Insufficient balance in source account");
+        if (source.getBalance() + ledgerRepository.unappliedSum(source.getAccountNumber()) < amount) {
+            throw new InsufficientFundsException();
         }
 
-        source.setBalance(source.getBalance() - amount);
-        destination.setBalance(destination.getBalance() + amount);
+        source.setBalance(MinorUnits.subtract(source.getBalance(), amount));
+        destination.setBalance(MinorUnits.add(destination.getBalance(), amount));
 
         accountRepository.persist(source);
         accountRepository.persist(destination);
     }
 
+    /**
+     * Applies the transfers in order. With the row engines this happens within
+     * one transaction: every account involved is loaded and locked with a
+     * single query, the transfers are applied to the managed entities and the
+     * resulting balance updates are flushed as one JDBC batch, one statement
+     * per touched account. With the ledger engine the stripes of all source
+     * accounts are held instead and the applied transfers are appended to the
+     * ledger with one call. All accounts of a batch must be on one shard.
+     */
+    public BatchTransferResult transferBatch(List<TransferInput> transfers, BatchMode mode) {
+        if (transfers.isEmpty() || transfers.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch must contain between 1 and " + maxBatchSize + " transfers");
+        }
+        String shard = shardRouter.commonShardOf(accountNumbers(transfers));
+        if (shard == null) {
+            throw new IllegalArgumentException("All accounts of a batch must be on the same shard");
+        }
+
+        if (transferEngine == TransferEngine.LEDGER) {
+            return accountLocks.callLocked(sourceAccounts(transfers),
+                    () -> shardRouter.call(shard, () -> transferBatchToLedger(transfers, mode)));
+        }
+        return shardRouter.call(shard, () -> transferBatchOnRows(transfers, mode));
+    }
+
     @Transactional
+    BatchTransferResult transferBatchOnRows(List<TransferInput> transfers, BatchMode mode) {
+        TreeSet<String> accountNumbers = accountNumbers(transfers);
+        Map<String, AccountModel> accounts = new HashMap<>();
+        for (AccountModel account : accountRepository.findAllByAccountNumbersForUpdate(accountNumbers)) {
+            accounts.put(account.getAccountNumber(), account);
+        }
+        Map<String, Long> unapplied = ledgerRepository.unappliedSums(accountNumbers);
+
+        List<TransferResult> results = new ArrayList<>(transfers.size());
+        boolean failed = false;
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferInput transfer = transfers.get(i);
+            String error = applyBatchItem(accounts, unapplied, transfer);
+            if (error == null) {
+                ledgerRepository.persist(LedgerEntryModel.transfer(transfer.getFromAccount(),
+                        transfer.getToAccount(), transfer.getAmount(), true));
+            }
+            failed |= error != null;
+            results.add(new TransferResult(i, error == null ? TransferResult.APPLIED : TransferResult.FAILED, error));
+        }
+
+        if (failed && mode == BatchMode.ALL_OR_NOTHING) {
+            QuarkusTransaction.setRollbackOnly();
+            return rolledBack(results);
+        }
+        balanceChanged.fire(new BalanceChangedEvent(accountNumbers));
+        return new BatchTransferResult(true, results);
+    }
+
+    /**
+     * Validates the batch against detached copies of the accounts carrying
+     * their effective balances, then appends the legs of every applied
+     * transfer in one call so they are stored together. The advisory locks of
+     * all sources are held until the entries are committed, like for a single
+     * {@link #transferToLedger}.
+     */
+    @Transactional
+    BatchTransferResult transferBatchToLedger(List<TransferInput> transfers, BatchMode mode) {
+        accountRepository.lockForDebit(sourceAccounts(transfers));
+        Map<String, AccountModel> accounts = new HashMap<>();
+        for (AccountModel account : findEffectiveAccounts(accountNumbers(transfers))) {
+            accounts.put(account.getAccountNumber(), account);
+        }
+
+        List<TransferResult> results = new ArrayList<>(transfers.size());
+        List<LedgerEntryModel> entries = new ArrayList<>();
+        boolean failed = false;
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferInput transfer = transfers.get(i);
+            String error = applyBatchItem(accounts, Map.of(), transfer);
+            if (error == null) {
+                entries.addAll(LedgerEntryModel.transfer(transfer.getFromAccount(), transfer.getToAccount(),
+                        transfer.getAmount(), false));
+            }
+            failed |= error != null;
+            results.add(new TransferResult(i, error == null ? TransferResult.APPLIED : TransferResult.FAILED, error));
+        }
+
+        if (failed && mode == BatchMode.ALL_OR_NOTHING) {
+            return rolledBack(results);
+        }
+        if (!entries.isEmpty()) {
+            ledgerWriter.append(entries);
+            balanceChanged.fire(new BalanceChangedEvent(accounts.keySet()));
+        }
+        return new BatchTransferResult(true, results);
+    }
+
+    @Transactional
+    List<AccountModel> findEffectiveAccounts(Collection<String> accountNumbers) {
+        return accountRepository.findEffectiveByAccountNumbers(accountNumbers);
+    }
+
+    private static List<String> sourceAccounts(List<TransferInput> transfers) {
+        List<String> sources = new ArrayList<>();
+        for (TransferInput transfer : transfers) {
+            if (transfer.getFromAccount() != null) {
+                sources.add(transfer.getFromAccount());
+            }
+        }
+        return sources;
+    }
+
+    private static TreeSet<String> accountNumbers(List<TransferInput> transfers) {
+        TreeSet<String> accountNumbers = new TreeSet<>();
+        for (TransferInput transfer : transfers) {
+            if (transfer.getFromAccount() != null) {
+                accountNumbers.add(transfer.getFromAccount());
+            }
+            if (transfer.getToAccount() != null) {
+                accountNumbers.add(transfer.getToAccount());
+            }
+        }
+        return accountNumbers;
+    }
+
+    private static BatchTransferResult rolledBack(List<TransferResult> results) {
+        for (TransferResult result : results) {
+            if (result.getError() == null) {
+                result.setStatus(TransferResult.ROLLED_BACK);
+            }
+        }
+        return new BatchTransferResult(false, results);
+    }
+
+    /**
+     * Returns the error message for a transfer that cannot be applied, or
+     * applies it to the loaded accounts and returns {@code null}. A failed item
+     * never modifies an account, so skipping it is enough in per-item mode.
+     * {@code unapplied} holds the ledger amounts not included in the loaded
+     * balances.
+     */
+    private String applyBatchItem(Map<String, AccountModel> accounts, Map<String, Long> unapplied,
+            TransferInput transfer) {
+        if (transfer.getAmount() <= 0) {
+            return "Amount must be greater than 0";
+        }
+        if (Objects.equals(transfer.getFromAccount(), transfer.getToAccount())) {
+            return "Source and destination accounts must be different";
+        }
+
+        AccountModel source = accounts.get(transfer.getFromAccount());
+        AccountModel destination = accounts.get(transfer.getToAccount());
+        if (source == null) {
+            return "Source account not found";
+        }
+        if (destination == null) {
+            return "Destination account not found";
+        }
+        if (source.getBalance() + unapplied.getOrDefault(source.getAccountNumber(), 0L) < transfer.getAmount()) {
+            return "Insufficient balance in source account";
+        }
+
+        source.setBalance(MinorUnits.subtract(source.getBalance(), transfer.getAmount()));
+        destination.setBalance(MinorUnits.add(destination.getBalance(), transfer.getAmount()));
+        return null;
+    }
+
+    /**
+     * Two guarded updates and no selects on the happy path. The rows are updated
+     * in account number order so two opposite transfers cannot deadlock each
+     * other; a failed update throws and rolls the other one back.
+     */
+    private void transferWithGuardedUpdates(String fromAccount, String toAccount, long amount) {
+        boolean debitFirst = fromAccount.compareTo(toAccount) < 0;
+        if (debitFirst && accountRepository.debitIfSufficient(fromAccount, amount) == 0) {
+            throw transferFailure(fromAccount, toAccount);
+        }
+        if (accountRepository.credit(toAccount, amount) == 0) {
+            throw transferFailure(fromAccount, toAccount);
+        }
+        if (!debitFirst && accountRepository.debitIfSufficient(fromAccount, amount) == 0) {
+            throw transferFailure(fromAccount, toAccount);
+        }
+    }
+
+    /**
+     * Works out why a guarded update touched no rows, reporting the same error
+     * the entity path would have reported for the same input.
+     */
+    private RuntimeException transferFailure(String fromAccount, String toAccount) {
+        if (!accountRepository.existsByAccountNumber(fromAccount)) {
+            return new NotFoundException("Source account not found");
+        }
+        if (!accountRepository.existsByAccountNumber(toAccount)) {
+            return new NotFoundException("Destination account not found");
+        }
+        return new InsufficientFundsException();
+    }
+
+    /**
+     * Returns the account with its effective balance, including ledger entries
+     * not yet folded into the stored balance.
+     */
     public AccountModel getAccount(String accountNumber) {
-        AccountModel account = accountRepository.find("accountNumber", accountNumber).firstResult();
+        return shardRouter.call(shardRouter.shardOf(accountNumber), () -> findAccount(accountNumber));
+    }
+
+    /**
+     * Like {@link #getAccount}, but served by the read replica of the shard
+     * while it is fresh and the account has not just been written.
+     */
+    public AccountModel getAccountFromReplica(String accountNumber) {
+        String shard = shardRouter.shardOf(accountNumber);
+        return readReplicaRouter.call(shard, accountNumber, () -> findAccount(accountNumber));
+    }
+
+    /**
+     * The effective balance in minor units, read like
+     * {@link #getAccountFromReplica} but without loading the account.
+     */
+    public long getBalanceFromReplica(String accountNumber) {
+        String shard = shardRouter.shardOf(accountNumber);
+        return readReplicaRouter.call(shard, accountNumber, () -> findBalance(accountNumber));
+    }
+
+    @Transactional
+    long findBalance(String accountNumber) {
+        Long balance = accountRepository.findEffectiveBalance(accountNumber);
+        if (balance == null) {
+            throw new NotFoundException("Account not found");
+        }
+        return balance;
+    }
+
+    @Transactional
+    AccountModel findAccount(String accountNumber) {
+        AccountModel account = accountRepository.findEffectiveByAccountNumber(accountNumber);
         if (account == null) {
             throw new NotFoundException("Account not found");
         }
         return account;
     }
 
+    /**
+     * Keyset page over the accounts of all shards. Ids are only unique per
+     * shard, so accounts are ordered by the cursor key
+     * {@code id * shardCount + shardIndex}, which is just the id with a single
+     * shard. Every shard returns its next rows after the cursor and the page
+     * is the lowest keys among them. Served by the read replicas while they are
+     * fresh.
+     */
+    public CursorPage<AccountSummary> getAccountPage(long after, int limit) {
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+
+        List<String> shards = shardRouter.shards();
+        List<PageRow> rows = new ArrayList<>();
+        for (int index = 0; index < shards.size(); index++) {
+            long shardCount = shards.size();
+            long shardIndex = index;
+            long afterId = Math.floorDiv(after - shardIndex, shardCount);
+            // Fetch one extra row to learn whether another page exists without a count query.
+            for (AccountSummary account : readReplicaRouter.call(shards.get(index),
+                    () -> findAccountPage(afterId, limit + 1))) {
+                rows.add(new PageRow(account.getId() * shardCount + shardIndex, account));
+            }
+        }
+        rows.sort(Comparator.comparingLong(PageRow::key));
+
+        List<AccountSummary> accounts = rows.stream().limit(limit).map(PageRow::account).toList();
+        if (rows.size() <= limit) {
+            return new CursorPage<>(accounts, null);
+        }
+        return new CursorPage<>(accounts, String.valueOf(rows.get(limit - 1).key()));
+    }
+
+    private record PageRow(long key, AccountSummary account) {
+    }
+
     @Transactional
-    public List<AccountModel> getAllAccounts() {
-        return accountRepository.listAll();
+    List<AccountSummary> findAccountPage(long afterId, int size) {
+        return accountRepository.findPageAfter(afterId, size);
+    }
+
+    /**
+     * Hands every account to {@code consumer} while the rows are read from the
+     * database, shard by shard and in id order within a shard. The rows are
+     * read as {@link AccountSummary} projections, so the persistence context
+     * stays empty regardless of the table size. Served by the read replicas
+     * while they are fresh.
+     */
+    public void streamAllAccounts(Consumer<AccountSummary> consumer) {
+        for (String shard : shardRouter.shards()) {
+            readReplicaRouter.run(shard, () -> streamShardAccounts(consumer));
+        }
+    }
+
+    @Transactional
+    void streamShardAccounts(Consumer<AccountSummary> consumer) {
+        try (Stream<AccountSummary> accounts = accountRepository.streamAllOrderedById(streamFetchSize)) {
+            accounts.forEach(consumer);
+        }
+    }
+
+    /**
+     * One keyset page of an account's ledger entries, newest first. The cursor
+     * is opaque to clients and passed back as {@code after}.
+     */
+    public CursorPage<LedgerEntryModel> getTransactionPage(LedgerHistoryFilter filter, String after, int limit) {
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        LedgerCursor cursor = after == null ? null : LedgerCursor.parse(after);
+        return shardRouter.call(shardRouter.shardOf(filter.accountNumber()),
+                () -> findTransactionPage(filter, cursor, limit));
+    }
+
+    @Transactional
+    CursorPage<LedgerEntryModel> findTransactionPage(LedgerHistoryFilter filter, LedgerCursor cursor, int limit) {
+        if (!accountRepository.existsByAccountNumber(filter.accountNumber())) {
+            throw new NotFoundException("Account not found");
+        }
+
+        List<LedgerEntryModel> entries = ledgerRepository.findHistoryPage(filter, cursor, limit + 1);
+        if (entries.size() <= limit) {
+            return new CursorPage<>(entries, null);
+        }
+        entries = entries.subList(0, limit);
+        return new CursorPage<>(entries, LedgerCursor.of(entries.get(limit - 1)).format());
+    }
+
+    /**
+     * Hands every matching entry to {@code consumer}, newest first, detaching
+     * each one once consumed so the persistence context stays empty.
+     */
+    public void streamTransactions(LedgerHistoryFilter filter, Consumer<LedgerEntryModel> consumer) {
+        shardRouter.run(shardRouter.shardOf(filter.accountNumber()), () -> streamShardTransactions(filter, consumer));
+    }
+
+    @Transactional
+    void streamShardTransactions(LedgerHistoryFilter filter, Consumer<LedgerEntryModel> consumer) {
+        try (Stream<LedgerEntryModel> entries = ledgerRepository.streamHistory(filter, streamFetchSize)) {
+            entries.forEach(entry -> {
+                consumer.accept(entry);
+                ledgerRepository.getEntityManager().detach(entry);
+            });
+        }
     }
 }
@@ -0,0 +1,21 @@
+package org.example.quarkuschallenge.account;
+
+import java.util.Set;
+
+/**
+ * Fired by the account services whenever a write may have changed the
+ * effective balance of the listed accounts. The blocking services fire it
+ * inside the transaction, so observers interested in committed state observe
+ * it {@code during = TransactionPhase.AFTER_SUCCESS}; the reactive service
+ * fires it asynchronously once its transaction has committed.
+ */
+public record BalanceChangedEvent(Set<String> accountNumbers) {
+
+    public BalanceChangedEvent {
+        accountNumbers = Set.copyOf(accountNumbers);
+    }
+
+    public static BalanceChangedEvent of(String... accountNumbers) {
+        return new BalanceChangedEvent(Set.of(accountNumbers));
+    }
+}
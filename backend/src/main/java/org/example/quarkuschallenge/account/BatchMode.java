@@ -0,0 +1,23 @@
+package org.example.quarkuschallenge.account;
+
+/**
+ * How a batch of transfers is committed.
+ */
+public enum BatchMode {
+    /**
+     * Any failed item rolls back the whole batch.
+     */
+    ALL_OR_NOTHING,
+    /**
+     * Failed items are skipped and reported; every other item is committed.
+     */
+    PER_ITEM;
+
+    /**
+     * Accepts the query parameter spelling ({@code all-or-nothing},
+     * {@code per-item}) as well as the constant names.
+     */
+    public static BatchMode fromString(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase());
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.quarkuschallenge.account;
+
+/**
+ * Thrown when the source account of a transfer cannot cover the amount. An
+ * {@link IllegalArgumentException}, so it is answered with {@code 400} like
+ * the other rejected inputs, but counted under its own transfer outcome.
+ */
+public class InsufficientFundsException extends IllegalArgumentException {
+
+    public InsufficientFundsException() {
+        super("Insufficient balance in source account");
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.quarkuschallenge.account;
+
+/**
+ * Thrown by {@link AccountLocks} when an account stripe could not be taken
+ * within {@code account.lock.timeout}, or the wait was interrupted.
+ */
+public class LockTimeoutException extends RuntimeException {
+
+    public LockTimeoutException(String message) {
+        super(message);
+    }
+
+    public LockTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.quarkuschallenge.account;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents, øre).
+ * Balances and amounts are held as minor units everywhere inside the
+ * application; major units with {@link #SCALE} decimals only appear at the
+ * JSON boundary. The arithmetic does not allocate and throws
+ * {@link ArithmeticException} instead of silently overflowing.
+ */
+public final class MinorUnits {
+
+    /**
+     * Number of decimals of the account currencies (DKK and USD).
+     */
+    public static final int SCALE = 2;
+
+    private static final long FACTOR = 100;
+
+    private MinorUnits() {
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Converts a major-unit amount to minor units. Throws
+     * {@link ArithmeticException} when it has more than {@link #SCALE}
+     * decimals or does not fit in a {@code long}.
+     */
+    public static long fromMajor(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    public static BigDecimal toMajor(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Formats minor units as a plain major-unit decimal, e.g. {@code -1205}
+     * as {@code "-12.05"}.
+     */
+    public static String format(long minorUnits) {
+        long major = minorUnits / FACTOR;
+        long minor = Math.abs(minorUnits % FACTOR);
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0 && major == 0) {
+            text.append('-');
+        }
+        text.append(major).append('.');
+        if (minor < 10) {
+            text.append('0');
+        }
+        return text.append(minor).toString();
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.quarkuschallenge.account;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Reads a major-unit JSON number, or a string holding one as sent by HTML
+ * number inputs, into a minor-unit {@code long}, e.g. {@code 12.05} or
+ * {@code "12.05"} as {@code 1205}. Amounts with more than
+ * {@link MinorUnits#SCALE} decimals are rejected rather than rounded.
+ */
+@RegisterForReflection
+public class MinorUnitsDeserializer extends StdDeserializer<Long> {
+
+    public MinorUnitsDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return fromString(parser.getText().trim(), context);
+        }
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT && parser.currentToken() != JsonToken.VALUE_NUMBER_FLOAT) {
+            return (Long) context.handleUnexpectedToken(Long.class, parser);
+        }
+        try {
+            return MinorUnits.fromMajor(parser.getDecimalValue());
+        } catch (ArithmeticException e) {
+            throw context.weirdNumberException(parser.getNumberValue(), Long.class,
+                    "Amounts must have at most " + MinorUnits.SCALE + " decimals and fit in 64 bits");
+        }
+    }
+
+    private static Long fromString(String text, DeserializationContext context) throws IOException {
+        try {
+            return MinorUnits.fromMajor(new BigDecimal(text));
+        } catch (NumberFormatException e) {
+            throw context.weirdStringException(text, Long.class, "Amounts must be decimal numbers");
+        } catch (ArithmeticException e) {
+            throw context.weirdStringException(text, Long.class,
+                    "Amounts must have at most " + MinorUnits.SCALE + " decimals and fit in 64 bits");
+        }
+    }
+}
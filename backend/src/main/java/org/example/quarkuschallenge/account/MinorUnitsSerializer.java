@@ -0,0 +1,26 @@
+package org.example.quarkuschallenge.account;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Writes a minor-unit {@code long} as a major-unit JSON number, e.g.
+ * {@code 1205} as {@code 12.05}.
+ */
+@RegisterForReflection
+public class MinorUnitsSerializer extends StdSerializer<Long> {
+
+    public MinorUnitsSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(MinorUnits.format(value));
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.quarkuschallenge.account;
+
+import java.util.UUID;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Random (version 4) account numbers, as issued before the time-ordered ones.
+ * Enabled at build time with {@code account.number.generator=random} instead
+ * of the default {@code time-ordered}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "account.number.generator", stringValue = "random")
+public class RandomAccountNumberGenerator implements AccountNumberGenerator {
+
+    @Override
+    public String next() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.quarkuschallenge.account;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * UUID version 7 account numbers: the first 48 bits are the Unix time in
+ * milliseconds, the remaining 74 free bits are random. New numbers therefore
+ * sort after older ones and are inserted at the right edge of the
+ * {@code accountNumber} index instead of splitting pages all over it, while
+ * keeping the format of the random numbers issued before.
+ * <p>
+ * The random bits come from a {@code DRBG} {@link SecureRandom} per thread,
+ * so one issued number does not reveal the others, and concurrent callers
+ * don't contend on the shared instance behind {@link UUID#randomUUID}.
+ */
+@DefaultBean
+@ApplicationScoped
+public class TimeOrderedAccountNumberGenerator implements AccountNumberGenerator {
+
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(() -> {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No DRBG SecureRandom available", e);
+        }
+    });
+
+    @Override
+    public String next() {
+        SecureRandom random = RANDOM.get();
+        long millis = System.currentTimeMillis();
+        // 48 bits of time, version 7 and 12 random bits.
+        long mostSignificant = millis << 16 | 0x7000L | random.nextLong() & 0x0FFFL;
+        // The RFC 4122 variant and 62 random bits.
+        long leastSignificant = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+}
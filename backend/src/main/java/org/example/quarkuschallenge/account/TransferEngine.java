@@ -0,0 +1,34 @@
+package org.example.quarkuschallenge.account;
+
+/**
+ * Strategy used by {@link AccountService#transferMoney} to move money between
+ * two accounts. Selected with the {@code account.transfer.engine} property.
+ */
+public enum TransferEngine {
+    /**
+     * Loads both accounts as managed entities, checks the balance in Java and
+     * lets Hibernate flush the two updates.
+     */
+    ENTITY,
+    /**
+     * Debits with a guarded {@code balance >= amount} update and credits with a
+     * second update, without loading either account.
+     */
+    ATOMIC,
+    /**
+     * Queues on the in-JVM {@link AccountLocks} stripes, then locks both rows
+     * with {@code SELECT ... FOR UPDATE} in account number order before
+     * applying the transfer to the entities.
+     */
+    LOCKING,
+    /**
+     * Appends the two legs to the ledger through the group-committing
+     * {@code LedgerWriter} without updating either account row. Only the source
+     * account is locked, by its {@link AccountLocks} stripe and by a Postgres
+     * advisory lock held until the entries are committed, so credits to a hot
+     * account never wait. The balances catch up when the snapshot job folds
+     * the entries in. While this is the configured engine, every other debit
+     * path takes the same locks or is refused.
+     */
+    LEDGER,
+}
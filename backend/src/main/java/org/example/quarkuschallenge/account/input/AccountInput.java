@@ -1,5 +1,8 @@
 package org.example.quarkuschallenge.account.input;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class AccountInput {
     private String firstName;
     private String lastName;
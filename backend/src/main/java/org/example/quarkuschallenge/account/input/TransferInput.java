@@ -1,9 +1,20 @@
 package org.example.quarkuschallenge.account.input;
 
+import org.example.quarkuschallenge.account.MinorUnitsDeserializer;
+import org.example.quarkuschallenge.account.MinorUnitsSerializer;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class TransferInput {
     private String fromAccount;
     private String toAccount;
-    private double amount;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    @JsonDeserialize(using = MinorUnitsDeserializer.class)
+    private long amount;
 
     public String getFromAccount() {
         return fromAccount;
@@ -21,11 +32,11 @@ public class TransferInput {
         this.toAccount = toAccount;
     }
 
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 }
@@ -0,0 +1,73 @@
+package org.example.quarkuschallenge.account.output;
+
+import org.example.quarkuschallenge.account.MinorUnitsSerializer;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Read-only view of an account with its effective balance, serialized like
+ * the entity. Built directly by the listing queries, so it is never managed by
+ * the persistence context.
+ */
+@RegisterForReflection
+public class AccountSummary {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String accountNumber;
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long balance;
+
+    public AccountSummary() {
+    }
+
+    public AccountSummary(Long id, String firstName, String lastName, String accountNumber, long balance) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.accountNumber = accountNumber;
+        this.balance = balance;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+}
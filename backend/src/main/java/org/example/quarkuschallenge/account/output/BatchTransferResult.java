@@ -0,0 +1,35 @@
+package org.example.quarkuschallenge.account.output;
+
+import java.util.List;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class BatchTransferResult {
+    private boolean committed;
+    private List<TransferResult> results;
+
+    public BatchTransferResult() {
+    }
+
+    public BatchTransferResult(boolean committed, List<TransferResult> results) {
+        this.committed = committed;
+        this.results = results;
+    }
+
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    public void setCommitted(boolean committed) {
+        this.committed = committed;
+    }
+
+    public List<TransferResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TransferResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.quarkuschallenge.account.output;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
+public class TransferResult {
+    public static final String APPLIED = "APPLIED";
+    public static final String FAILED = "FAILED";
+    public static final String ROLLED_BACK = "ROLLED_BACK";
+
+    private int index;
+    private String status;
+    private String error;
+
+    public TransferResult() {
+    }
+
+    public TransferResult(int index, String status, String error) {
+        this.index = index;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.quarkuschallenge.account.reactive;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.ledger.LedgerEntryModel;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Non-blocking access to the {@link AccountModel} table through the reactive
+ * PostgreSQL client. Queries run on the event loop and hold a connection only
+ * while a statement is in flight. Every method takes the {@link SqlClient} to
+ * run on, so callers can group statements in {@link #withTransaction}.
+ */
+@ApplicationScoped
+public class ReactiveAccountRepository {
+
+    /**
+     * Stored balance plus the ledger entries not yet folded into it, matching
+     * the effective balance the blocking repository reads.
+     */
+    private static final String COLUMNS = "id, firstName, lastName, accountNumber, balance"
+            + " + (SELECT coalesce(sum(e.amount), 0) FROM LedgerEntryModel e"
+            + " WHERE e.accountNumber = a.accountNumber AND NOT e.applied) AS balance";
+
+    private final Pool pool;
+
+    public ReactiveAccountRepository(Pool pool) {
+        this.pool = pool;
+    }
+
+    public SqlClient client() {
+        return pool;
+    }
+
+    public <T> Uni<T> withTransaction(Function<SqlConnection, Uni<T>> work) {
+        return pool.withTransaction(work);
+    }
+
+    public Uni<AccountModel> insert(SqlClient client, AccountModel account) {
+        return client.preparedQuery("INSERT INTO AccountModel (firstName, lastName, accountNumber, balance)"
+                + " VALUES ($1, $2, $3, $4) RETURNING id")
+                .execute(Tuple.of(account.getFirstName(), account.getLastName(), account.getAccountNumber(),
+                        account.getBalance()))
+                .map(rows -> {
+                    account.setId(rows.iterator().next().getLong("id"));
+                    return account;
+                });
+    }
+
+    public Uni<AccountModel> findByAccountNumber(SqlClient client, String accountNumber) {
+        return client.preparedQuery("SELECT " + COLUMNS + " FROM AccountModel a WHERE accountNumber = $1")
+                .execute(Tuple.of(accountNumber))
+                .map(rows -> rows.size() == 0 ? null : toAccount(rows.iterator().next()));
+    }
+
+    public Uni<List<AccountModel>> findPageAfter(SqlClient client, long afterId, int size) {
+        return client.preparedQuery("SELECT " + COLUMNS
+                + " FROM AccountModel a WHERE id > $1 ORDER BY id LIMIT $2")
+                .execute(Tuple.of(afterId, size))
+                .map(ReactiveAccountRepository::toAccounts);
+    }
+
+    /**
+     * Same guard as the blocking repository: unapplied ledger debits count
+     * against the balance, unapplied credits do not.
+     */
+    public Uni<Integer> debitIfSufficient(SqlClient client, String accountNumber, long amount) {
+        return client.preparedQuery("UPDATE AccountModel a SET balance = balance - $1"
+                + " WHERE accountNumber = $2 AND balance + (SELECT coalesce(sum(e.amount), 0)"
+                + " FROM LedgerEntryModel e WHERE e.accountNumber = a.accountNumber AND NOT e.applied"
+                + " AND e.amount < 0) >= $1")
+                .execute(Tuple.of(amount, accountNumber))
+                .map(RowSet::rowCount);
+    }
+
+    public Uni<Integer> credit(SqlClient client, String accountNumber, long amount) {
+        return client.preparedQuery("UPDATE AccountModel SET balance = balance + $1 WHERE accountNumber = $2")
+                .execute(Tuple.of(amount, accountNumber))
+                .map(RowSet::rowCount);
+    }
+
+    /**
+     * Records already applied ledger entries, one multi-row insert per call.
+     */
+    public Uni<Void> insertAppliedEntries(SqlClient client, List<LedgerEntryModel> entries) {
+        StringBuilder sql = new StringBuilder("INSERT INTO LedgerEntryModel"
+                + " (id, accountNumber, amount, type, reference, counterparty, createdAt, applied) VALUES ");
+        Tuple parameters = Tuple.tuple();
+        for (LedgerEntryModel entry : entries) {
+            int p = parameters.size();
+            sql.append(p == 0 ? "" : ", ").append("(nextval('LedgerEntryModel_SEQ')");
+            for (int i = 1; i <= 6; i++) {
+                sql.append(", $").append(p + i);
+            }
+            sql.append(", true)");
+            parameters.addString(entry.getAccountNumber())
+                    .addLong(entry.getAmount())
+                    .addString(entry.getType().name())
+                    .addString(entry.getReference())
+                    .addString(entry.getCounterparty())
+                    .addOffsetDateTime(entry.getCreatedAt().atOffset(ZoneOffset.UTC));
+        }
+        return client.preparedQuery(sql.toString()).execute(parameters).replaceWithVoid();
+    }
+
+    public Uni<Boolean> existsByAccountNumber(SqlClient client, String accountNumber) {
+        return client.preparedQuery("SELECT 1 FROM AccountModel WHERE accountNumber = $1")
+                .execute(Tuple.of(accountNumber))
+                .map(rows -> rows.size() > 0);
+    }
+
+    private static List<AccountModel> toAccounts(RowSet<Row> rows) {
+        List<AccountModel> accounts = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            accounts.add(toAccount(row));
+        }
+        return accounts;
+    }
+
+    // Postgres folds the unquoted column names to lower case.
+    private static AccountModel toAccount(Row row) {
+        AccountModel account = new AccountModel();
+        account.setId(row.getLong("id"));
+        account.setFirstName(row.getString("firstname"));
+        account.setLastName(row.getString("lastname"));
+        account.setAccountNumber(row.getString("accountnumber"));
+        account.setBalance(row.getLong("balance"));
+        return account;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.quarkuschallenge.account.reactive;
+
+import java.util.Map;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.MinorUnits;
+import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.account.input.DepositeInput;
+import org.example.quarkuschallenge.account.input.TransferInput;
+import org.example.quarkuschallenge.account.output.CursorPage;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * The account API on the reactive stack, served from the event loop under a
+ * separate path so it can be load tested against the blocking
+ * {@code /account} endpoints on the same deployment.
+ */
+@Path("/reactive/account")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class ReactiveAccountResource {
+
+    @Inject
+    ReactiveAccountService accountService;
+
+    @POST
+    public Uni<AccountModel> createAccount(AccountInput input) {
+        return accountService.createAccount(input)
+                .onFailure().transform(ReactiveAccountResource::toWebException);
+    }
+
+    @POST
+    @Path("/{accountNumber}/deposit")
+    public Uni<AccountModel> depositMoney(@PathParam("accountNumber") String accountNumber, DepositeInput input) {
+        return accountService.depositMoney(accountNumber, input.getAmount())
+                .onFailure().transform(ReactiveAccountResource::toWebException);
+    }
+
+    @POST
+    @Path("/transfer")
+    public Uni<Response> transferMoney(TransferInput input) {
+        return accountService.transferMoney(input.getFromAccount(), input.getToAccount(), input.getAmount())
+                .map(ignored -> Response.ok(Map.of("message", "Transfer successful")).build())
+                .onFailure().transform(ReactiveAccountResource::toWebException);
+    }
+
+    @GET
+    @Path("/{accountNumber}/balance")
+    public Uni<Response> getAccountBalance(@PathParam("accountNumber") String accountNumber) {
+        return accountService.getAccount(accountNumber)
+                .map(account -> Response.ok(Map.of("balance", MinorUnits.toMajor(account.getBalance()))).build())
+                .onFailure().transform(ReactiveAccountResource::toWebException);
+    }
+
+    @GET
+    public Uni<CursorPage<AccountModel>> getAccounts(@QueryParam("limit") @DefaultValue("100") int limit,
+            @QueryParam("after") @DefaultValue("0") long after) {
+        return accountService.getAccountPage(after, limit)
+                .onFailure().transform(ReactiveAccountResource::toWebException);
+    }
+
+    private static jakarta.ws.rs.WebApplicationException toWebException(Throwable e) {
+        if (e instanceof NotFoundException) {
+            return new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.NOT_FOUND).entity(Map.of("error", e.getMessage())).build());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build());
+        }
+        if (e instanceof IllegalStateException) {
+            return new jakarta.ws.rs.WebApplicationException(
+                    Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(Map.of("error", e.getMessage())).build());
+        }
+        e.printStackTrace();
+        return new jakarta.ws.rs.WebApplicationException(
+                Response.status(Response.Status.INTERNAL_SERVER_ERROR).build());
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.quarkuschallenge.account.reactive;
+
+import java.util.List;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountNumberGenerator;
+import org.example.quarkuschallenge.account.BalanceChangedEvent;
+import org.example.quarkuschallenge.account.InsufficientFundsException;
+import org.example.quarkuschallenge.account.TransferEngine;
+import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.account.output.CursorPage;
+import org.example.quarkuschallenge.ledger.LedgerEntryModel;
+import org.example.quarkuschallenge.shard.ShardRouter;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.ws.rs.NotFoundException;
+
+/**
+ * Uni-returning counterpart of {@code AccountService}. Validation, error
+ * messages and the guarded-update transfer match the blocking service so the
+ * two stacks can be compared like for like.
+ * <p>
+ * The reactive pool only reaches the default datasource, so with
+ * {@code account.shard.datasources} configured every operation fails with an
+ * {@link IllegalStateException} instead of serving the accounts of one shard.
+ */
+@ApplicationScoped
+public class ReactiveAccountService {
+    private final ReactiveAccountRepository accountRepository;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final Event<BalanceChangedEvent> balanceChanged;
+    private final boolean sharded;
+
+    @ConfigProperty(name = "account.page.max-size", defaultValue = "1000")
+    int maxPageSize;
+
+    @ConfigProperty(name = "account.transfer.engine", defaultValue = "atomic")
+    TransferEngine transferEngine;
+
+    public ReactiveAccountService(ReactiveAccountRepository accountRepository,
+            AccountNumberGenerator accountNumberGenerator, Event<BalanceChangedEvent> balanceChanged,
+            ShardRouter shardRouter) {
+        this.accountRepository = accountRepository;
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.balanceChanged = balanceChanged;
+        this.sharded = shardRouter.shards().size() > 1;
+    }
+
+    public Uni<AccountModel> createAccount(AccountInput input) {
+        if (sharded) {
+            return unsharded();
+        }
+
+        AccountModel account = new AccountModel();
+        account.setFirstName(input.getFirstName());
+        account.setLastName(input.getLastName());
+        account.setAccountNumber(accountNumberGenerator.next());
+        account.setBalance(0);
+        return accountRepository.insert(accountRepository.client(), account)
+                .call(() -> fireBalanceChanged(account.getAccountNumber()));
+    }
+
+    public Uni<AccountModel> depositMoney(String accountNumber, long amount) {
+        if (sharded) {
+            return unsharded();
+        }
+
+        if (amount <= 0) {
+            return Uni.createFrom().failure(new IllegalArgumentException("Amount must be greater than 0"));
+        }
+
+        return accountRepository.withTransaction(conn -> accountRepository.credit(conn, accountNumber, amount)
+                .chain(updated -> {
+                    if (updated == 0) {
+                        return Uni.createFrom().failure(new NotFoundException("Account not found"));
+                    }
+                    return accountRepository.insertAppliedEntries(conn,
+                            List.of(LedgerEntryModel.deposit(accountNumber, amount, true)))
+                            .chain(() -> accountRepository.findByAccountNumber(conn, accountNumber));
+                }))
+                .call(() -> fireBalanceChanged(accountNumber));
+    }
+
+    /**
+     * Same algorithm as the blocking atomic engine: two guarded updates in
+     * account number order inside one transaction. Refused with the ledger
+     * engine, whose transfers check the balance under an {@code AccountLocks}
+     * stripe that the event loop cannot wait for.
+     */
+    public Uni<Void> transferMoney(String fromAccount, String toAccount, long amount) {
+        if (sharded) {
+            return unsharded();
+        }
+
+        if (transferEngine == TransferEngine.LEDGER) {
+            return Uni.createFrom().failure(
+                    new IllegalStateException("Reactive transfers are not available with the ledger engine"));
+        }
+
+        if (amount <= 0) {
+            return Uni.createFrom().failure(new IllegalArgumentException("Amount must be greater than 0"));
+        }
+
+        if (fromAccount.equals(toAccount)) {
+            return Uni.createFrom().failure(
+                    new IllegalArgumentException("Source and destination accounts must be different"));
+        }
+
+        boolean debitFirst = fromAccount.compareTo(toAccount) < 0;
+        return accountRepository.withTransaction(conn -> {
+            Uni<Integer> first = debitFirst
+                    ? accountRepository.debitIfSufficient(conn, fromAccount, amount)
+                    : accountRepository.credit(conn, toAccount, amount);
+            return first
+                    .chain(updated -> updated == 0 ? transferFailure(conn, fromAccount, toAccount)
+                            : debitFirst
+                                    ? accountRepository.credit(conn, toAccount, amount)
+                                    : accountRepository.debitIfSufficient(conn, fromAccount, amount))
+                    .chain(updated -> updated == 0 ? transferFailure(conn, fromAccount, toAccount)
+                            : accountRepository.insertAppliedEntries(conn,
+                                    LedgerEntryModel.transfer(fromAccount, toAccount, amount, true)));
+        }).call(() -> fireBalanceChanged(fromAccount, toAccount));
+    }
+
+    /**
+     * Notifies observers once the transaction has committed. Fired
+     * asynchronously so observers may block without stalling the event loop;
+     * the returned Uni completes when they are done.
+     */
+    private Uni<?> fireBalanceChanged(String... accountNumbers) {
+        return Uni.createFrom().completionStage(() -> balanceChanged.fireAsync(BalanceChangedEvent.of(accountNumbers)));
+    }
+
+    private static <T> Uni<T> unsharded() {
+        return Uni.createFrom().failure(
+                new IllegalStateException("The reactive account API is not available with several shards"));
+    }
+
+    private <T> Uni<T> transferFailure(SqlClient client, String fromAccount, String toAccount) {
+        return accountRepository.existsByAccountNumber(client, fromAccount)
+                .chain(sourceExists -> {
+                    if (!sourceExists) {
+                        return Uni.createFrom().failure(new NotFoundException("Source account not found"));
+                    }
+                    return accountRepository.existsByAccountNumber(client, toAccount)
+                            .chain(destinationExists -> Uni.createFrom().failure(destinationExists
+                                    ? new InsufficientFundsException()
+                                    : new NotFoundException("Destination account not found")));
+                });
+    }
+
+    public Uni<AccountModel> getAccount(String accountNumber) {
+        if (sharded) {
+            return unsharded();
+        }
+
+        return accountRepository.findByAccountNumber(accountRepository.client(), accountNumber)
+                .onItem().ifNull().failWith(() -> new NotFoundException("Account not found"));
+    }
+
+    public Uni<CursorPage<AccountModel>> getAccountPage(long after, int limit) {
+        if (sharded) {
+            return unsharded();
+        }
+
+        if (limit <= 0 || limit > maxPageSize) {
+            return Uni.createFrom().failure(
+                    new IllegalArgumentException("Limit must be between 1 and " + maxPageSize));
+        }
+
+        return accountRepository.findPageAfter(accountRepository.client(), after, limit + 1)
+                .map(accounts -> {
+                    if (accounts.size() <= limit) {
+                        return new CursorPage<>(accounts, null);
+                    }
+                    List<AccountModel> page = accounts.subList(0, limit);
+                    return new CursorPage<>(page, String.valueOf(page.get(limit - 1).getId()));
+                });
+    }
+}
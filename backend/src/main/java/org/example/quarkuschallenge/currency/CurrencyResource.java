@@ -3,6 +3,7 @@ package org.example.quarkuschallenge.currency;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 
+import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
@@ -27,22 +28,25 @@ public class CurrencyResource {
     @Inject
     CurrencyService currencyService;
 
+    /**
+     * Runs on the event loop: the upstream call, if any, is non-blocking, so no
+     * worker thread is held while waiting for the exchange rate API.
+     */
     @GET
     @Path("/conversion/{fromCurrency}/{toCurrency}/{amount}")
-    public double convertCurrency(
+    public Uni<Double> convertCurrency(
             @Parameter(description = "Currency to convert from", required = true) @PathParam("fromCurrency") Currency fromCurrency,
             @Parameter(description = "Currency to convert to", required = true) @PathParam("toCurrency") Currency toCurrency,
             @Parameter(description = "Amount to convert", required = true, example = "100.0") @PathParam("amount") double amount //
     ) {
 
-        try {
-            return currencyService.convertCurrency(amount, fromCurrency.name(), toCurrency.name());
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new WebApplicationException(
-                    Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                            .entity(e.getMessage())
-                            .build());
-        }
+        return currencyService.convertCurrency(amount, fromCurrency.name(), toCurrency.name())
+                .onFailure().transform(e -> {
+                    e.printStackTrace();
+                    return new WebApplicationException(
+                            Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                                    .entity(e.getMessage())
+                                    .build());
+                });
     }
 }
@@ -1,60 +1,133 @@
 package org.example.quarkuschallenge.currency;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.Scanner;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
-import org.json.JSONObject;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
+/**
+ * Converts amounts using the full rate table of the base currency. Tables are
+ * fetched once per base currency, kept in memory for
+ * {@code exchange-rate.cache.ttl} and refreshed in the background, so a
+ * conversion is a map lookup and a multiplication.
+ */
 @ApplicationScoped
 public class CurrencyService {
 
+    private static final Logger LOG = Logger.getLogger(CurrencyService.class);
+
     @ConfigProperty(name = "exchange-rate.api-key")
     String apiKey;
 
-    @ConfigProperty(name = "exchange-rate.api-url")
-    String apiUrl;
+    @ConfigProperty(name = "exchange-rate.cache.ttl", defaultValue = "PT1H")
+    Duration cacheTtl;
+
+    @Inject
+    @RestClient
+    ExchangeRateClient exchangeRateClient;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final Map<String, RateTable> rateTables = new ConcurrentHashMap<>();
+    private final Map<String, Uni<RateTable>> pendingFetches = new ConcurrentHashMap<>();
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    @PostConstruct
+    void init() {
+        cacheHits = meterRegistry.counter("exchange.rate.cache.requests", "result", "hit");
+        cacheMisses = meterRegistry.counter("exchange.rate.cache.requests", "result", "miss");
+    }
+
+    public Uni<Double> convertCurrency(double amount, String baseCurrency, String targetCurrency) {
+        RateTable table = rateTables.get(baseCurrency);
+        if (table != null && !table.isExpired(cacheTtl)) {
+            cacheHits.increment();
+            return Uni.createFrom().item(() -> convert(table, amount, baseCurrency, targetCurrency));
+        }
+        cacheMisses.increment();
+        return fetchOnce(baseCurrency).map(fetched -> convert(fetched, amount, baseCurrency, targetCurrency));
+    }
+
+    private double convert(RateTable table, double amount, String baseCurrency, String targetCurrency) {
+        Double rate = table.rates.get(targetCurrency);
+        if (rate == null) {
+            throw new RuntimeException("No exchange rate from " + baseCurrency + " to " + targetCurrency);
+        }
+        return amount * rate;
+    }
+
+    /**
+     * Concurrent misses for the same base currency share a single upstream call.
+     */
+    private Uni<RateTable> fetchOnce(String baseCurrency) {
+        return pendingFetches.computeIfAbsent(baseCurrency, base -> fetchRateTable(base)
+                .onItem().invoke(table -> rateTables.put(base, table))
+                .onTermination().invoke(() -> pendingFetches.remove(base))
+                .memoize().indefinitely());
+    }
+
+    /**
+     * Re-fetches every cached table before it expires. A failed refresh keeps
+     * the previous table, which is served until its TTL runs out.
+     */
+    @Scheduled(every = "${exchange-rate.cache.refresh-interval}", delayed = "${exchange-rate.cache.refresh-interval}")
+    void refreshRateTables() {
+        for (String baseCurrency : rateTables.keySet()) {
+            fetchRateTable(baseCurrency).subscribe().with(
+                    table -> rateTables.put(baseCurrency, table),
+                    failure -> LOG.warnf(failure, "Failed to refresh exchange rates for %s", baseCurrency));
+        }
+    }
 
-    public double convertCurrency(double amount, String baseCurrency, String targetCurrency) {
+    private Uni<RateTable> fetchRateTable(String baseCurrency) {
         if (apiKey == null || apiKey.isEmpty()) {
-            throw new RuntimeException("API key is not set in the environment variables");
+            return Uni.createFrom().failure(new RuntimeException("API key is not set in the environment variables"));
+        }
+
+        Uni<ExchangeRateResponse> timedCall = Uni.createFrom().deferred(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return exchangeRateClient.latestRates(apiKey, baseCurrency)
+                    .onTermination().invoke((response, failure, cancelled) -> sample.stop(meterRegistry.timer(
+                            "exchange.rate.api.requests",
+                            "base", baseCurrency, "outcome", failure == null ? "success" : "failure")));
+        });
+        return timedCall
+                .onFailure().transform(e -> new RuntimeException(
+                        "Error while calling the exchange rate API: " + e.getMessage(), e))
+                .map(response -> {
+                    if (response.getConversionRates() == null) {
+                        throw new RuntimeException("Invalid response from the API: result " + response.getResult());
+                    }
+                    return new RateTable(Map.copyOf(response.getConversionRates()), Instant.now());
+                });
+    }
+
+    private static final class RateTable {
+        private final Map<String, Double> rates;
+        private final Instant fetchedAt;
+
+        private RateTable(Map<String, Double> rates, Instant fetchedAt) {
+            this.rates = rates;
+            this.fetchedAt = fetchedAt;
         }
 
-        try {
-            String requestUrl = apiUrl + apiKey + "/pair/" + baseCurrency + "/" + targetCurrency + "/" + amount;
-            URL url = new URL(requestUrl);
-
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.connect();
-
-            int responseCode = conn.getResponseCode();
-            if (responseCode != 200) {
-                throw new RuntimeException("Failed to fetch exchange rate: HTTP code " + responseCode);
-            }
-
-            StringBuilder response = new StringBuilder();
-            try (Scanner scanner = new Scanner(url.openStream())) {
-                while (scanner.hasNext()) {
-                    response.append(scanner.nextLine());
-                }
-            }
-
-            String jsonResponse = response.toString();
-            int amountIndex = jsonResponse.indexOf("\"conversion_result\":");
-            if (amountIndex == -1) {
-                throw new RuntimeException("Invalid response from the API: " + jsonResponse);
-            }
-            JSONObject jsonObject = new JSONObject(jsonResponse);
-            double conversionResult = jsonObject.getDouble("conversion_result");
-            return conversionResult;
-
-        } catch (IOException e) {
-            throw new RuntimeException("Error while calling the exchange rate API: " + e.getMessage(), e);
+        private boolean isExpired(Duration ttl) {
+            return fetchedAt.plus(ttl).isBefore(Instant.now());
         }
     }
 }
@@ -0,0 +1,25 @@
+package org.example.quarkuschallenge.currency;
+
+import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Non-blocking client for the exchange rate API. Connections are pooled and
+ * kept alive by the underlying Vert.x client; timeouts and pool size are set
+ * under {@code quarkus.rest-client.exchange-rate}.
+ */
+@RegisterRestClient(configKey = "exchange-rate")
+@Produces(MediaType.APPLICATION_JSON)
+public interface ExchangeRateClient {
+
+    @GET
+    @Path("{apiKey}/latest/{baseCurrency}")
+    Uni<ExchangeRateResponse> latestRates(@PathParam("apiKey") String apiKey,
+            @PathParam("baseCurrency") String baseCurrency);
+}
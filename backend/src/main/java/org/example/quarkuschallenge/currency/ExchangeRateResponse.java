@@ -0,0 +1,45 @@
+package org.example.quarkuschallenge.currency;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The parts of the {@code /latest/{base}} response the service uses; the body
+ * is bound in a single streaming parse and everything else is skipped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ExchangeRateResponse {
+    private String result;
+
+    @JsonProperty("base_code")
+    private String baseCode;
+
+    @JsonProperty("conversion_rates")
+    private Map<String, Double> conversionRates;
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public String getBaseCode() {
+        return baseCode;
+    }
+
+    public void setBaseCode(String baseCode) {
+        this.baseCode = baseCode;
+    }
+
+    public Map<String, Double> getConversionRates() {
+        return conversionRates;
+    }
+
+    public void setConversionRates(Map<String, Double> conversionRates) {
+        this.conversionRates = conversionRates;
+    }
+}
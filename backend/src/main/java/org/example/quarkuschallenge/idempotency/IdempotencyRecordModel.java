@@ -0,0 +1,69 @@
+package org.example.quarkuschallenge.idempotency;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Outcome of a request sent with an {@code Idempotency-Key}. A record without
+ * a {@code status} is a claim: the request is running, or its outcome is
+ * unknown because it failed unexpectedly.
+ */
+@Entity
+public class IdempotencyRecordModel {
+
+    @Id
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of the request the key was first used with.
+     */
+    private String requestHash;
+    private Integer status;
+
+    @Column(columnDefinition = "text")
+    private String responseBody;
+    private Instant createdAt;
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.quarkuschallenge.idempotency;
+
+import java.time.Instant;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class IdempotencyRepository implements PanacheRepositoryBase<IdempotencyRecordModel, String> {
+
+    /**
+     * Inserts a claim for {@code key} unless the key is already known. Returns
+     * {@code true} when this call created the claim; of several concurrent
+     * callers exactly one wins.
+     */
+    public boolean claim(String key, String requestHash, Instant createdAt) {
+        return getEntityManager().createNativeQuery("""
+                INSERT INTO IdempotencyRecordModel (idempotencyKey, requestHash, createdAt) VALUES (?1, ?2, ?3)
+                ON CONFLICT (idempotencyKey) DO NOTHING
+                """)
+                .setParameter(1, key)
+                .setParameter(2, requestHash)
+                .setParameter(3, createdAt)
+                .executeUpdate() == 1;
+    }
+
+    public void complete(String key, int status, String responseBody) {
+        update("status = ?1, responseBody = ?2 where idempotencyKey = ?3", status, responseBody, key);
+    }
+
+    public long deleteCreatedBefore(Instant cutoff) {
+        return delete("createdAt < ?1", cutoff);
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.quarkuschallenge.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key} and replays the
+ * stored response to retries.
+ * <p>
+ * Completed responses are looked up in a bounded in-memory cache first and in
+ * the {@link IdempotencyRecordModel} table second, so a retry storm is served
+ * without touching the account rows, and mostly without touching the
+ * database at all. A new key is claimed with a committed insert before the
+ * request runs, so concurrent duplicates get {@code 409} instead of running
+ * twice.
+ * <p>
+ * Successful responses are stored. Client errors and {@code 503} release the
+ * claim: a {@code 503} is only returned for writes that gave up before
+ * changing anything, so in both cases nothing was applied and a retry should
+ * be able to run. After any other server error or an unexpected exception the
+ * outcome is unknown, so the claim is kept and retries get {@code 409} until
+ * it expires.
+ */
+@ApplicationScoped
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @ConfigProperty(name = "account.idempotency.ttl", defaultValue = "PT24H")
+    Duration ttl;
+
+    @Inject
+    IdempotencyRepository repository;
+
+    @Inject
+    @CacheName("idempotency-keys")
+    Cache cache;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Returns the response of {@code action}, or the stored response when
+     * {@code key} has been used before. {@code fingerprint} identifies the
+     * request; reusing a key for a different request is rejected with
+     * {@code 422}.
+     */
+    public Response execute(String key, String fingerprint, Supplier<Response> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return error(Response.Status.BAD_REQUEST,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = sha256(fingerprint);
+        StoredResponse stored = cached(key);
+        if (stored == null) {
+            if (claim(key, requestHash)) {
+                count("executed");
+                return run(key, requestHash, action);
+            }
+            stored = load(key);
+        }
+        return replay(key, requestHash, stored);
+    }
+
+    private Response run(String key, String requestHash, Supplier<Response> action) {
+        Response response;
+        try {
+            response = action.get();
+        } catch (WebApplicationException e) {
+            response = e.getResponse();
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Request with %s %s failed, keeping the key claimed", HEADER, key);
+            throw e;
+        }
+
+        Response.Status.Family family = response.getStatusInfo().getFamily();
+        if (family == Response.Status.Family.SUCCESSFUL) {
+            StoredResponse stored = new StoredResponse(requestHash, response.getStatus(),
+                    serialize(response.getEntity()));
+            complete(key, stored);
+            cache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(stored));
+        } else if (family == Response.Status.Family.CLIENT_ERROR
+                || response.getStatus() == Response.Status.SERVICE_UNAVAILABLE.getStatusCode()) {
+            release(key);
+        } else {
+            LOG.warnf("Request with %s %s returned %d, keeping the key claimed", HEADER, key, response.getStatus());
+        }
+        return response;
+    }
+
+    private Response replay(String key, String requestHash, StoredResponse stored) {
+        if (stored == null || stored.status() == null) {
+            count("in_progress");
+            return error(Response.Status.CONFLICT,
+                    "A request with this " + HEADER + " is in progress or its outcome is unknown");
+        }
+        if (!stored.requestHash().equals(requestHash)) {
+            count("mismatch");
+            return error(422, HEADER + " was already used for a different request");
+        }
+
+        count("replayed");
+        cache.as(CaffeineCache.class).put(key, CompletableFuture.completedFuture(stored));
+        return Response.status(stored.status())
+                .entity(stored.body())
+                .type(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .build();
+    }
+
+    private StoredResponse cached(String key) {
+        CompletableFuture<StoredResponse> cached = cache.as(CaffeineCache.class).getIfPresent(key);
+        return cached == null ? null : cached.join();
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    boolean claim(String key, String requestHash) {
+        return repository.claim(key, requestHash, Instant.now());
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    StoredResponse load(String key) {
+        IdempotencyRecordModel record = repository.findById(key);
+        return record == null ? null
+                : new StoredResponse(record.getRequestHash(), record.getStatus(), record.getResponseBody());
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    void complete(String key, StoredResponse stored) {
+        repository.complete(key, stored.status(), stored.body());
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    void release(String key) {
+        repository.deleteById(key);
+    }
+
+    /**
+     * Drops records older than {@code account.idempotency.ttl}, including
+     * claims whose outcome stayed unknown. A key is reusable afterwards.
+     */
+    @Scheduled(every = "${account.idempotency.purge-interval}")
+    @Transactional
+    void purgeExpired() {
+        long purged = repository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (purged > 0) {
+            LOG.debugf("Purged %d expired idempotency records", purged);
+        }
+    }
+
+    private String serialize(Object entity) {
+        try {
+            return entity == null ? null : objectMapper.writeValueAsString(entity);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store the response", e);
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("idempotency.requests", "result", result).increment();
+    }
+
+    private static Response error(Response.Status status, String message) {
+        return error(status.getStatusCode(), message);
+    }
+
+    private static Response error(int status, String message) {
+        return Response.status(status).entity(Map.of("error", message)).type(MediaType.APPLICATION_JSON).build();
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A completed response, or a claim when {@code status} is {@code null}.
+     * Only completed responses are cached in memory.
+     */
+    record StoredResponse(String requestHash, Integer status, String body) {
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.quarkuschallenge.ledger;
+
+import java.util.Map;
+
+import org.example.quarkuschallenge.account.AccountRepository;
+import org.example.quarkuschallenge.shard.ShardRouter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+/**
+ * Periodically folds unapplied ledger entries into the stored balances, which
+ * act as the snapshot the effective balance is computed from. Marking the
+ * entries and updating the balances commit together, so readers see either
+ * the old snapshot plus the entries or the new snapshot without them. Each
+ * shard is folded in its own transaction.
+ */
+@ApplicationScoped
+public class BalanceSnapshotJob {
+
+    @Inject
+    LedgerRepository ledgerRepository;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private DistributionSummary foldedAccounts;
+
+    @PostConstruct
+    void init() {
+        foldedAccounts = DistributionSummary.builder("ledger.snapshot.accounts")
+                .description("Accounts whose balance was updated by one ledger fold")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(every = "${account.ledger.snapshot-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledFold() {
+        fold();
+    }
+
+    /**
+     * Applies every committed unapplied entry on every shard. Rows are updated
+     * in account number order, the order the transfer engines lock them in. A
+     * negative net amount lowers the balance.
+     */
+    public void fold() {
+        for (String shard : shardRouter.shards()) {
+            shardRouter.run(shard, this::foldShard);
+        }
+    }
+
+    @Transactional
+    void foldShard() {
+        Map<String, Long> sums = ledgerRepository.markAllApplied();
+        sums.forEach(accountRepository::credit);
+        foldedAccounts.record(sums.size());
+    }
+}
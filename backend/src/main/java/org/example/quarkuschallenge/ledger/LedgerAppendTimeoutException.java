@@ -0,0 +1,14 @@
+package org.example.quarkuschallenge.ledger;
+
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Thrown by {@link LedgerWriter#append} when the entries were withdrawn from
+ * the queue before the writer took them, so none of them was stored.
+ */
+public class LedgerAppendTimeoutException extends PersistenceException {
+
+    public LedgerAppendTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
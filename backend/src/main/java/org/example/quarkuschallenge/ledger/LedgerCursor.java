@@ -0,0 +1,34 @@
+package org.example.quarkuschallenge.ledger;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Position of an entry in the {@code (createdAt, id)} order of the history.
+ * Encoded as {@code <epoch microseconds>_<id>}, matching the microsecond
+ * precision the timestamp is stored with.
+ */
+public record LedgerCursor(Instant createdAt, long id) {
+
+    public static LedgerCursor of(LedgerEntryModel entry) {
+        return new LedgerCursor(entry.getCreatedAt(), entry.getId());
+    }
+
+    public static LedgerCursor parse(String cursor) {
+        int separator = cursor.indexOf('_');
+        try {
+            if (separator < 0) {
+                throw new NumberFormatException();
+            }
+            long micros = Long.parseLong(cursor.substring(0, separator));
+            long id = Long.parseLong(cursor.substring(separator + 1));
+            return new LedgerCursor(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String format() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, createdAt) + "_" + id;
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.quarkuschallenge.ledger;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import org.example.quarkuschallenge.account.MinorUnitsSerializer;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+/**
+ * One immutable movement on an account: a deposit or one leg of a transfer.
+ * {@code amount} is signed and in minor units, so the sum of an account's
+ * entries is the net change of its balance. Entries that are not yet
+ * {@code applied} have not been folded into {@code AccountModel.balance}.
+ */
+@Entity
+@RegisterForReflection
+public class LedgerEntryModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    private String accountNumber;
+
+    @JsonSerialize(using = MinorUnitsSerializer.class)
+    private long amount;
+
+    @Enumerated(EnumType.STRING)
+    private LedgerEntryType type;
+
+    /**
+     * Shared by the two legs of a transfer.
+     */
+    private String reference;
+    private String counterparty;
+    private Instant createdAt;
+    private boolean applied;
+
+    public static LedgerEntryModel deposit(String accountNumber, long amount, boolean applied) {
+        return entry(accountNumber, amount, LedgerEntryType.DEPOSIT, UUID.randomUUID().toString(), null, applied);
+    }
+
+    /**
+     * The debit and credit legs of a transfer, sharing one reference.
+     */
+    public static List<LedgerEntryModel> transfer(String fromAccount, String toAccount, long amount,
+            boolean applied) {
+        String reference = UUID.randomUUID().toString();
+        return List.of(
+                transferOut(fromAccount, toAccount, amount, reference, applied),
+                transferIn(toAccount, fromAccount, amount, reference, applied));
+    }
+
+    /**
+     * The debit leg alone, for a transfer whose credit leg is stored on
+     * another shard under the same reference.
+     */
+    public static LedgerEntryModel transferOut(String fromAccount, String toAccount, long amount, String reference,
+            boolean applied) {
+        return entry(fromAccount, -amount, LedgerEntryType.TRANSFER_OUT, reference, toAccount, applied);
+    }
+
+    public static LedgerEntryModel transferIn(String toAccount, String fromAccount, long amount, String reference,
+            boolean applied) {
+        return entry(toAccount, amount, LedgerEntryType.TRANSFER_IN, reference, fromAccount, applied);
+    }
+
+    private static LedgerEntryModel entry(String accountNumber, long amount, LedgerEntryType type, String reference,
+            String counterparty, boolean applied) {
+        LedgerEntryModel entry = new LedgerEntryModel();
+        entry.setAccountNumber(accountNumber);
+        entry.setAmount(amount);
+        entry.setType(type);
+        entry.setReference(reference);
+        entry.setCounterparty(counterparty);
+        // Postgres keeps microseconds; truncating here keeps history cursors exact.
+        entry.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        entry.setApplied(applied);
+        return entry;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public LedgerEntryType getType() {
+        return type;
+    }
+
+    public void setType(LedgerEntryType type) {
+        this.type = type;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getCounterparty() {
+        return counterparty;
+    }
+
+    public void setCounterparty(String counterparty) {
+        this.counterparty = counterparty;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public void setApplied(boolean applied) {
+        this.applied = applied;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.quarkuschallenge.ledger;
+
+public enum LedgerEntryType {
+    DEPOSIT,
+    TRANSFER_IN,
+    TRANSFER_OUT,
+}
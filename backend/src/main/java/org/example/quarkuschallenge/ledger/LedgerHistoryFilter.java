@@ -0,0 +1,19 @@
+package org.example.quarkuschallenge.ledger;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Selects the entries of one account. {@code from} is inclusive, {@code to}
+ * exclusive and either may be {@code null}; an empty {@code types} set
+ * matches every type.
+ */
+public record LedgerHistoryFilter(String accountNumber, Instant from, Instant to, Set<LedgerEntryType> types) {
+
+    public LedgerHistoryFilter {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        types = Set.copyOf(types);
+    }
+}
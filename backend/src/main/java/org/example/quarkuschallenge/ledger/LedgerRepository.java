@@ -0,0 +1,128 @@
+package org.example.quarkuschallenge.ledger;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class LedgerRepository implements PanacheRepository<LedgerEntryModel> {
+
+    /**
+     * Net amount of the entries not yet folded into the account's balance.
+     */
+    public long unappliedSum(String accountNumber) {
+        return getEntityManager().createQuery("""
+                select coalesce(sum(e.amount), 0) from LedgerEntryModel e
+                where e.accountNumber = ?1 and e.applied = false
+                """, Long.class)
+                .setParameter(1, accountNumber)
+                .getSingleResult();
+    }
+
+    /**
+     * Net unapplied amount per account, for the listed accounts only. Accounts
+     * without unapplied entries are absent from the result.
+     */
+    public Map<String, Long> unappliedSums(Collection<String> accountNumbers) {
+        return toMap(getEntityManager().createQuery("""
+                select e.accountNumber, sum(e.amount) from LedgerEntryModel e
+                where e.applied = false and e.accountNumber in ?1 group by e.accountNumber
+                """, Object[].class)
+                .setParameter(1, accountNumbers)
+                .getResultList());
+    }
+
+    public Map<String, Long> unappliedSums() {
+        return toMap(getEntityManager().createQuery("""
+                select e.accountNumber, sum(e.amount) from LedgerEntryModel e
+                where e.applied = false group by e.accountNumber
+                """, Object[].class)
+                .getResultList());
+    }
+
+    /**
+     * Marks every unapplied entry as applied and returns their net amount per
+     * account, ordered by account number. Marking and summing happen in one
+     * statement, so an entry committed meanwhile is left for the next fold.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> markAllApplied() {
+        List<Object[]> rows = getEntityManager().createNativeQuery("""
+                WITH folded AS (
+                    UPDATE LedgerEntryModel SET applied = true WHERE applied = false
+                    RETURNING accountNumber, amount
+                )
+                SELECT accountNumber, sum(amount) FROM folded GROUP BY accountNumber ORDER BY accountNumber
+                """)
+                .getResultList();
+        Map<String, Long> sums = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            sums.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return sums;
+    }
+
+    /**
+     * Keyset page of an account's entries, newest first: everything strictly
+     * before the {@code (createdAt, id)} position of the cursor. Served by the
+     * {@code (accountNumber, createdAt, id)} index, so deep pages cost the same
+     * as the first one.
+     */
+    public List<LedgerEntryModel> findHistoryPage(LedgerHistoryFilter filter, LedgerCursor after, int size) {
+        return history(filter, after)
+                .page(Page.ofSize(size))
+                .list();
+    }
+
+    /**
+     * Streams all matching entries, newest first, using a server-side cursor.
+     * Must be consumed inside a transaction.
+     */
+    public Stream<LedgerEntryModel> streamHistory(LedgerHistoryFilter filter, int fetchSize) {
+        return history(filter, null)
+                .withHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .stream();
+    }
+
+    private PanacheQuery<LedgerEntryModel> history(LedgerHistoryFilter filter, LedgerCursor after) {
+        StringBuilder query = new StringBuilder("accountNumber = :accountNumber");
+        Parameters parameters = Parameters.with("accountNumber", filter.accountNumber());
+        if (filter.from() != null) {
+            query.append(" and createdAt >= :from");
+            parameters.and("from", filter.from());
+        }
+        if (filter.to() != null) {
+            query.append(" and createdAt < :to");
+            parameters.and("to", filter.to());
+        }
+        if (!filter.types().isEmpty()) {
+            query.append(" and type in :types");
+            parameters.and("types", filter.types());
+        }
+        if (after != null) {
+            query.append(" and (createdAt, id) < (:afterCreatedAt, :afterId)");
+            parameters.and("afterCreatedAt", after.createdAt()).and("afterId", after.id());
+        }
+        return find(query.toString(), Sort.descending("createdAt", "id"), parameters);
+    }
+
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> sums = new HashMap<>();
+        for (Object[] row : rows) {
+            sums.put((String) row[0], (Long) row[1]);
+        }
+        return sums;
+    }
+}
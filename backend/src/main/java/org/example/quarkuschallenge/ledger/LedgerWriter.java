@@ -0,0 +1,260 @@
+package org.example.quarkuschallenge.ledger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.quarkuschallenge.shard.ShardRouter;
+import org.jboss.logging.Logger;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Appends unapplied ledger entries with group commit. Callers enqueue their
+ * entries and wait; a single writer thread drains whatever has queued up and
+ * stores it with one multi-row insert in one transaction. Under load many
+ * requests share a round trip and a commit, while an idle writer flushes a
+ * lone request immediately.
+ * <p>
+ * The entries of one {@link #append} call are always stored together, so the
+ * two legs of a transfer are never split. Entries are stored on the shard
+ * of their accounts; a batch spanning several shards is flushed with one
+ * insert per shard.
+ * <p>
+ * A caller returns only after its entries are committed, or after they were
+ * withdrawn from the queue before the writer took them; it never fails for
+ * entries that are still stored.
+ */
+@ApplicationScoped
+public class LedgerWriter {
+
+    private static final Logger LOG = Logger.getLogger(LedgerWriter.class);
+
+    private static final String INSERT = "INSERT INTO LedgerEntryModel"
+            + " (id, accountNumber, amount, type, reference, counterparty, createdAt, applied) VALUES ";
+    private static final String ROW = "(nextval('LedgerEntryModel_SEQ'), ?, ?, ?, ?, ?, ?, false)";
+
+    @ConfigProperty(name = "account.ledger.batch.max-size", defaultValue = "500")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "account.ledger.append-timeout", defaultValue = "PT5S")
+    Duration appendTimeout;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final BlockingQueue<PendingAppend> queue = new LinkedBlockingQueue<>();
+    private Thread writer;
+    private DistributionSummary batchSizes;
+    private Timer flushes;
+
+    @PostConstruct
+    void start() {
+        batchSizes = DistributionSummary.builder("ledger.writer.batch.size")
+                .description("Ledger entries stored per multi-row insert")
+                .register(meterRegistry);
+        flushes = Timer.builder("ledger.writer.flush")
+                .description("Time to insert and commit one batch of ledger entries")
+                .register(meterRegistry);
+        writer = new Thread(this::run, "ledger-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        writer.interrupt();
+    }
+
+    /**
+     * Stores {@code entries} as unapplied and blocks until they are committed.
+     * All entries must belong to accounts on the same shard.
+     * <p>
+     * After {@code account.ledger.append-timeout} the append is cancelled and
+     * fails with a {@link LedgerAppendTimeoutException} if the writer has not
+     * taken it yet. Once the writer has taken it,
+     * the outcome of the insert is awaited however long it takes, so a caller
+     * holding account stripes keeps them until a stored debit is visible.
+     */
+    public void append(List<LedgerEntryModel> entries) {
+        String shard = shardRouter.commonShardOf(entries.stream().map(LedgerEntryModel::getAccountNumber).toList());
+        if (shard == null) {
+            throw new IllegalArgumentException("Ledger entries of one append must be on one shard");
+        }
+        PendingAppend pending = new PendingAppend(shard, entries);
+        queue.add(pending);
+        try {
+            pending.done.get(appendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new PersistenceException("Could not store ledger entries", e.getCause());
+        } catch (TimeoutException e) {
+            if (pending.cancel()) {
+                throw new LedgerAppendTimeoutException("Timed out storing ledger entries", e);
+            }
+            awaitWritten(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.cancel()) {
+                throw new LedgerAppendTimeoutException("Interrupted while storing ledger entries", e);
+            }
+            awaitWritten(pending);
+        }
+    }
+
+    /**
+     * Waits, without giving up, for an append the writer has already taken.
+     */
+    private static void awaitWritten(PendingAppend pending) {
+        try {
+            pending.done.join();
+        } catch (CompletionException e) {
+            throw new PersistenceException("Could not store ledger entries", e.getCause());
+        }
+    }
+
+    private void run() {
+        List<PendingAppend> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            PendingAppend next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            int entries = 0;
+            do {
+                // Appends cancelled by their caller are dropped here and never written.
+                if (next.take()) {
+                    batch.add(next);
+                    entries += next.entries.size();
+                }
+            } while (entries < maxBatchSize && (next = queue.poll()) != null);
+            if (batch.isEmpty()) {
+                continue;
+            }
+            flushByShard(batch);
+            batch.clear();
+        }
+        PendingAppend remaining;
+        while ((remaining = queue.poll()) != null) {
+            remaining.done.completeExceptionally(new PersistenceException("Ledger writer stopped"));
+        }
+    }
+
+    private void flushByShard(List<PendingAppend> batch) {
+        Map<String, List<PendingAppend>> byShard = new LinkedHashMap<>();
+        for (PendingAppend pending : batch) {
+            byShard.computeIfAbsent(pending.shard, shard -> new ArrayList<>()).add(pending);
+        }
+        byShard.forEach(this::flush);
+    }
+
+    private void flush(String shard, List<PendingAppend> batch) {
+        try {
+            flushes.record(() -> insert(shard, batch));
+            batch.forEach(pending -> pending.done.complete(null));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).done.completeExceptionally(e.getCause() != null ? e.getCause() : e);
+                return;
+            }
+            // Retry one by one so a single bad append does not fail the others.
+            LOG.warnf(e, "Batched ledger insert of %d appends failed, retrying individually", batch.size());
+            for (PendingAppend pending : batch) {
+                flush(shard, List.of(pending));
+            }
+        }
+    }
+
+    private void insert(String shard, List<PendingAppend> batch) {
+        int rows = 0;
+        for (PendingAppend pending : batch) {
+            rows += pending.entries.size();
+        }
+        StringBuilder sql = new StringBuilder(INSERT.length() + rows * (ROW.length() + 2)).append(INSERT);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+        }
+
+        try (Connection connection = shardRouter.dataSource(shard).getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                int parameter = 1;
+                for (PendingAppend pending : batch) {
+                    for (LedgerEntryModel entry : pending.entries) {
+                        statement.setString(parameter++, entry.getAccountNumber());
+                        statement.setLong(parameter++, entry.getAmount());
+                        statement.setString(parameter++, entry.getType().name());
+                        statement.setString(parameter++, entry.getReference());
+                        statement.setString(parameter++, entry.getCounterparty());
+                        statement.setObject(parameter++, entry.getCreatedAt().atOffset(ZoneOffset.UTC));
+                    }
+                }
+                statement.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Ledger insert failed", e);
+        }
+        batchSizes.record(rows);
+    }
+
+    private static final class PendingAppend {
+        private static final int QUEUED = 0;
+        private static final int WRITING = 1;
+        private static final int CANCELLED = 2;
+
+        private final String shard;
+        private final List<LedgerEntryModel> entries;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+
+        private PendingAppend(String shard, List<LedgerEntryModel> entries) {
+            this.shard = shard;
+            this.entries = entries;
+        }
+
+        /**
+         * Claims the append for the writer; fails if the caller cancelled it.
+         */
+        private boolean take() {
+            return state.compareAndSet(QUEUED, WRITING);
+        }
+
+        /**
+         * Withdraws the append; fails if the writer has already taken it.
+         */
+        private boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+    }
+}
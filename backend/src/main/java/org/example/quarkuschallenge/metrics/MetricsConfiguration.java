@@ -0,0 +1,31 @@
+package org.example.quarkuschallenge.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+public class MetricsConfiguration {
+
+    /**
+     * Publishes histogram buckets for HTTP server requests, so per-endpoint
+     * latency percentiles can be computed in Prometheus across instances.
+     */
+    @Produces
+    @Singleton
+    MeterFilter httpServerHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals("http.server.requests")) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+}
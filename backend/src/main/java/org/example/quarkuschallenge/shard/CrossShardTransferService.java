@@ -0,0 +1,182 @@
+package org.example.quarkuschallenge.shard;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.quarkuschallenge.account.AccountLocks;
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountRepository;
+import org.example.quarkuschallenge.account.BalanceChangedEvent;
+import org.example.quarkuschallenge.account.InsufficientFundsException;
+import org.example.quarkuschallenge.account.MinorUnits;
+import org.example.quarkuschallenge.ledger.LedgerEntryModel;
+import org.example.quarkuschallenge.ledger.LedgerRepository;
+import org.jboss.logging.Logger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.NotFoundException;
+
+/**
+ * Transfers between accounts on different shards, without a distributed
+ * transaction.
+ * <p>
+ * The source shard debits the account, stores the debit leg and records the
+ * transfer in its {@link TransferOutboxModel} in one local transaction; from
+ * then on the transfer is committed. The destination shard credits the
+ * account, stores the credit leg and records the transfer in its inbox in a
+ * second local transaction, and the outbox row is marked delivered last. The
+ * credit is normally delivered before the request returns. If that fails, the
+ * relay job retries it until it succeeds, and the inbox makes a retry of an
+ * already credited transfer a no-op.
+ */
+@ApplicationScoped
+public class CrossShardTransferService {
+
+    private static final Logger LOG = Logger.getLogger(CrossShardTransferService.class);
+
+    @ConfigProperty(name = "account.shard.outbox.relay-batch-size", defaultValue = "100")
+    int relayBatchSize;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    AccountRepository accountRepository;
+
+    @Inject
+    LedgerRepository ledgerRepository;
+
+    @Inject
+    TransferOutboxRepository outboxRepository;
+
+    @Inject
+    AccountLocks accountLocks;
+
+    @Inject
+    Event<BalanceChangedEvent> balanceChanged;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Debits {@code fromAccount} and delivers the credit to {@code toAccount}
+     * on its shard. Fails like a local transfer when an account is missing or
+     * the balance is too low; once the debit has committed it does not fail.
+     */
+    public void transfer(String fromAccount, String toAccount, long amount) {
+        String sourceShard = shardRouter.shardOf(fromAccount);
+        if (!shardRouter.call(shardRouter.shardOf(toAccount), () -> exists(toAccount))) {
+            throw new NotFoundException("Destination account not found");
+        }
+
+        // The source stripe keeps ledger-engine debits of the same account out while the balance is checked.
+        TransferOutboxModel transfer = accountLocks.callLocked(List.of(fromAccount),
+                () -> shardRouter.call(sourceShard, () -> debit(fromAccount, toAccount, amount)));
+        deliver(sourceShard, transfer);
+    }
+
+    @Transactional
+    boolean exists(String accountNumber) {
+        return accountRepository.existsByAccountNumber(accountNumber);
+    }
+
+    /**
+     * Locks the source row and checks its effective balance, so neither a
+     * guarded update nor an unapplied ledger debit can spend the same money.
+     * The advisory debit lock keeps ledger transfers of other instances out
+     * as well.
+     */
+    @Transactional
+    TransferOutboxModel debit(String fromAccount, String toAccount, long amount) {
+        accountRepository.lockForDebit(List.of(fromAccount));
+        AccountModel source = accountRepository.findByAccountNumberForUpdate(fromAccount);
+        if (source == null) {
+            throw new NotFoundException("Source account not found");
+        }
+        if (source.getBalance() + ledgerRepository.unappliedSum(fromAccount) < amount) {
+            throw new InsufficientFundsException();
+        }
+        source.setBalance(MinorUnits.subtract(source.getBalance(), amount));
+
+        TransferOutboxModel transfer = new TransferOutboxModel();
+        transfer.setId(UUID.randomUUID().toString());
+        transfer.setFromAccount(fromAccount);
+        transfer.setToAccount(toAccount);
+        transfer.setAmount(amount);
+        transfer.setCreatedAt(Instant.now());
+        outboxRepository.persist(transfer);
+        ledgerRepository.persist(LedgerEntryModel.transferOut(fromAccount, toAccount, amount, transfer.getId(), true));
+        balanceChanged.fire(BalanceChangedEvent.of(fromAccount));
+        return transfer;
+    }
+
+    private boolean deliver(String sourceShard, TransferOutboxModel transfer) {
+        try {
+            shardRouter.run(shardRouter.shardOf(transfer.getToAccount()), () -> credit(transfer));
+            shardRouter.run(sourceShard, () -> markDelivered(transfer.getId()));
+        } catch (RuntimeException e) {
+            count("failed");
+            LOG.warnf(e, "Delivering cross-shard transfer %s failed, the relay will retry it", transfer.getId());
+            return false;
+        }
+        count("delivered");
+        return true;
+    }
+
+    @Transactional
+    void credit(TransferOutboxModel transfer) {
+        if (!outboxRepository.receive(transfer.getId(), Instant.now())) {
+            return;
+        }
+        if (accountRepository.credit(transfer.getToAccount(), transfer.getAmount()) == 0) {
+            throw new IllegalStateException("Destination account " + transfer.getToAccount() + " not found");
+        }
+        ledgerRepository.persist(LedgerEntryModel.transferIn(transfer.getToAccount(), transfer.getFromAccount(),
+                transfer.getAmount(), transfer.getId(), true));
+        balanceChanged.fire(BalanceChangedEvent.of(transfer.getToAccount()));
+    }
+
+    @Transactional
+    void markDelivered(String id) {
+        outboxRepository.markDelivered(id, Instant.now());
+    }
+
+    @Transactional
+    List<TransferOutboxModel> findPending() {
+        return outboxRepository.findPending(relayBatchSize);
+    }
+
+    @Scheduled(every = "${account.shard.outbox.relay-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRelay() {
+        relayPending();
+    }
+
+    /**
+     * Delivers up to {@code account.shard.outbox.relay-batch-size} pending
+     * transfers per shard, oldest first, and returns how many were delivered.
+     * A transfer that is being delivered by its request at the same time is
+     * credited only once.
+     */
+    public int relayPending() {
+        int delivered = 0;
+        for (String shard : shardRouter.shards()) {
+            for (TransferOutboxModel transfer : shardRouter.call(shard, this::findPending)) {
+                if (deliver(shard, transfer)) {
+                    delivered++;
+                }
+            }
+        }
+        return delivered;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("shard.outbox.deliveries", "result", result).increment();
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.quarkuschallenge.shard;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.example.quarkuschallenge.account.BalanceChangedEvent;
+import org.jboss.logging.Logger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+/**
+ * Sends read-only queries to the read replica of their shard while the
+ * replica is fresh enough, and to the shard itself otherwise.
+ * <p>
+ * {@code account.replica.datasources} lists one replica datasource per shard,
+ * in shard order. Every {@code lag-check-interval} each replica reports how far
+ * its replay is behind; a replica that lags more than {@code max-lag}, or
+ * cannot be asked, is skipped until a later check finds it fresh again. An
+ * account written by this instance within the last {@code max-lag} plus
+ * {@code lag-check-interval} is read from its shard, so a client, and the
+ * balance cache, never read an older balance than the one just written.
+ * Replicas are Hibernate tenants like the shards, named after their
+ * datasource.
+ */
+@ApplicationScoped
+public class ReadReplicaRouter {
+
+    private static final Logger LOG = Logger.getLogger(ReadReplicaRouter.class);
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    /**
+     * Zero when the replica has replayed the primary's WAL up to the given
+     * position, read from the primary just before, otherwise the age of the
+     * last transaction it replayed, or null if it never replayed one. Measured
+     * against the primary rather than against what the replica received, so a
+     * replica whose WAL receiver is disconnected falls behind instead of
+     * looking current. A server that is not a standby is never behind.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000
+            END""";
+
+    @ConfigProperty(name = "account.replica.datasources")
+    Optional<List<String>> replicaDataSources;
+
+    @ConfigProperty(name = "account.replica.max-lag", defaultValue = "PT5S")
+    Duration maxLag;
+
+    @ConfigProperty(name = "account.replica.lag-check-interval", defaultValue = "1s")
+    Duration lagCheckInterval;
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    /**
+     * Replica datasource by shard, empty without replicas.
+     */
+    private Map<String, String> replicas;
+
+    /**
+     * Replicas found fresh by the last check.
+     */
+    private final Map<String, Boolean> fresh = new ConcurrentHashMap<>();
+
+    /**
+     * Account number to the {@link System#nanoTime} of its last write by this instance.
+     */
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        List<String> shards = shardRouter.shards();
+        List<String> configured = replicaDataSources.orElse(List.of());
+        if (!configured.isEmpty() && configured.size() != shards.size()) {
+            throw new IllegalStateException("account.replica.datasources must list one replica per shard, "
+                    + shards.size() + " in total");
+        }
+        Map<String, String> byShard = new HashMap<>();
+        for (int i = 0; i < configured.size(); i++) {
+            byShard.put(shards.get(i), configured.get(i));
+        }
+        replicas = Map.copyOf(byShard);
+    }
+
+    public boolean isReplica(String dataSource) {
+        return replicas.containsValue(dataSource);
+    }
+
+    /**
+     * Returns the result of {@code action}, run against the replica of
+     * {@code shard} if it is fresh, otherwise against the shard. The action
+     * must only read.
+     */
+    public <T> T call(String shard, Supplier<T> action) {
+        return shardRouter.call(target(shard, null), action);
+    }
+
+    /**
+     * Like {@link #call(String, Supplier)}, but also reads from the shard
+     * while {@code accountNumber} was written recently.
+     */
+    public <T> T call(String shard, String accountNumber, Supplier<T> action) {
+        return shardRouter.call(target(shard, accountNumber), action);
+    }
+
+    public void run(String shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private String target(String shard, String accountNumber) {
+        String replica = replicas.get(shard);
+        boolean useReplica = replica != null && fresh.getOrDefault(replica, false)
+                && (accountNumber == null || !writtenRecently(accountNumber));
+        meterRegistry.counter("replica.reads", "target", useReplica ? "replica" : "primary").increment();
+        return useReplica ? replica : shard;
+    }
+
+    private boolean writtenRecently(String accountNumber) {
+        Long writtenAt = recentWrites.get(accountNumber);
+        return writtenAt != null && System.nanoTime() - writtenAt < readYourWritesWindow().toNanos();
+    }
+
+    /**
+     * A replica found fresh at the last check had replayed everything older
+     * than {@code max-lag} then, which may be up to one interval ago.
+     */
+    private Duration readYourWritesWindow() {
+        return maxLag.plus(lagCheckInterval);
+    }
+
+    /**
+     * Marks the accounts before the write commits, so no reader can reach the
+     * replica between the commit and the cache invalidation, and again after
+     * the commit, which is when the window starts.
+     */
+    void onBalanceChanging(@Observes BalanceChangedEvent event) {
+        recordWrites(event);
+    }
+
+    void onBalanceChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) BalanceChangedEvent event) {
+        recordWrites(event);
+    }
+
+    void onBalanceChangedAsync(@ObservesAsync BalanceChangedEvent event) {
+        recordWrites(event);
+    }
+
+    private void recordWrites(BalanceChangedEvent event) {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (String accountNumber : event.accountNumbers()) {
+            recentWrites.put(accountNumber, now);
+        }
+    }
+
+    @Scheduled(every = "${account.replica.lag-check-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledLagCheck() {
+        checkLag();
+    }
+
+    /**
+     * Asks every replica for its lag and forgets writes that every fresh
+     * replica has replayed by now.
+     */
+    public void checkLag() {
+        replicas.forEach((shard, replica) -> fresh.put(replica, lagOf(shard, replica) <= maxLag.toMillis()));
+        long cutoff = System.nanoTime() - readYourWritesWindow().toNanos();
+        recentWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+    }
+
+    private long lagOf(String shard, String replica) {
+        try {
+            String primaryLsn;
+            try (Connection connection = shardRouter.dataSource(shard).getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+                result.next();
+                primaryLsn = result.getString(1);
+            }
+            try (Connection connection = shardRouter.dataSource(replica).getConnection();
+                    PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+                statement.setString(1, primaryLsn);
+                try (ResultSet result = statement.executeQuery()) {
+                    result.next();
+                    long lag = result.getLong(1);
+                    return result.wasNull() ? Long.MAX_VALUE : lag;
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warnf(e, "Checking the lag of replica %s failed, reading from its shard", replica);
+            return Long.MAX_VALUE;
+        }
+    }
+}
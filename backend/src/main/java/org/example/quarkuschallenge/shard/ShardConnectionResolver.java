@@ -0,0 +1,39 @@
+package org.example.quarkuschallenge.shard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantConnectionResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Connects each tenant, a shard or a read replica, to the datasource of the
+ * same name. Quarkus' own resolver only knows named datasources, while shard 0
+ * is the default one.
+ */
+@ApplicationScoped
+@PersistenceUnitExtension
+public class ShardConnectionResolver implements TenantConnectionResolver {
+
+    @Inject
+    ShardRouter shardRouter;
+
+    @Inject
+    ReadReplicaRouter readReplicaRouter;
+
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    @Override
+    public ConnectionProvider resolve(String tenantId) {
+        if (!shardRouter.shards().contains(tenantId) && !readReplicaRouter.isReplica(tenantId)) {
+            throw new IllegalStateException("Unknown shard " + tenantId);
+        }
+        return providers.computeIfAbsent(tenantId,
+                dataSource -> new QuarkusConnectionProvider(shardRouter.dataSource(dataSource)));
+    }
+}
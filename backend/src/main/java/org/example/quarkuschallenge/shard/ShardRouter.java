@@ -0,0 +1,139 @@
+package org.example.quarkuschallenge.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.runtime.AgroalDataSourceUtil;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.datasource.common.runtime.DataSourceUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Maps account numbers to shards and selects the shard the next transaction
+ * on the current thread runs against.
+ * <p>
+ * Shard 0 is the default datasource, followed by the named datasources listed
+ * in {@code account.shard.datasources}. An account lives on the shard chosen
+ * by the CRC32 of its account number modulo the shard count, so changing the
+ * list re-routes existing accounts. Each shard is a Hibernate tenant (see
+ * {@link ShardTenantResolver}); the shard is fixed when a transaction opens its
+ * session, so it has to be selected with {@link #call} before the transaction
+ * starts.
+ */
+@ApplicationScoped
+public class ShardRouter {
+
+    public static final String DEFAULT_SHARD = DataSourceUtil.DEFAULT_DATASOURCE_NAME;
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    @ConfigProperty(name = "account.shard.datasources")
+    Optional<List<String>> namedShards;
+
+    private List<String> shards;
+
+    @PostConstruct
+    void init() {
+        List<String> all = new ArrayList<>();
+        all.add(DEFAULT_SHARD);
+        namedShards.ifPresent(all::addAll);
+        shards = List.copyOf(all);
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public String shardOf(String accountNumber) {
+        return shards.get(indexOf(accountNumber));
+    }
+
+    public int indexOf(String accountNumber) {
+        if (shards.size() == 1) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(accountNumber.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shards.size());
+    }
+
+    /**
+     * Returns the single shard holding all of the listed accounts, or
+     * {@code null} when they are spread over several shards.
+     */
+    public String commonShardOf(Collection<String> accountNumbers) {
+        String shard = null;
+        for (String accountNumber : accountNumbers) {
+            String next = shardOf(accountNumber);
+            if (shard != null && !shard.equals(next)) {
+                return null;
+            }
+            shard = next;
+        }
+        return shard == null ? DEFAULT_SHARD : shard;
+    }
+
+    /**
+     * The shard selected on this thread, or the default shard outside of
+     * {@link #call}.
+     */
+    public static String current() {
+        String shard = CURRENT.get();
+        return shard == null ? DEFAULT_SHARD : shard;
+    }
+
+    /**
+     * Returns the result of {@code action}, with every transaction it starts
+     * running against {@code shard}. A transaction that is already active
+     * keeps its shard, so switching to another one inside it is rejected.
+     * Activates a request context if none is active, since Hibernate only
+     * resolves tenants within one.
+     */
+    public <T> T call(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        if (!shard.equals(current()) && QuarkusTransaction.isActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction");
+        }
+
+        ManagedContext requestContext = Arc.container().requestContext();
+        boolean activated = !requestContext.isActive();
+        if (activated) {
+            requestContext.activate();
+        }
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            if (activated) {
+                requestContext.terminate();
+            }
+        }
+    }
+
+    public void run(String shard, Runnable action) {
+        call(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public AgroalDataSource dataSource(String shard) {
+        return AgroalDataSourceUtil.dataSourceInstance(shard).get();
+    }
+}
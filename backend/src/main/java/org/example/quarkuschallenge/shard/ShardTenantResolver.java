@@ -0,0 +1,25 @@
+package org.example.quarkuschallenge.shard;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Hibernate tenant of a new session: the shard selected with
+ * {@link ShardRouter#call}, or the default shard, which also holds the data
+ * that is not sharded.
+ */
+@ApplicationScoped
+@PersistenceUnitExtension
+public class ShardTenantResolver implements TenantResolver {
+
+    @Override
+    public String getDefaultTenantId() {
+        return ShardRouter.DEFAULT_SHARD;
+    }
+
+    @Override
+    public String resolveTenantId() {
+        return ShardRouter.current();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.quarkuschallenge.shard;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * A transfer whose source account has been debited on this shard and whose
+ * destination lives on another one. {@code deliveredAt} is set once the
+ * destination shard has credited it. The id is also the reference of the two
+ * ledger legs.
+ */
+@Entity
+public class TransferOutboxModel {
+
+    @Id
+    private String id;
+
+    private String fromAccount;
+    private String toAccount;
+    private long amount;
+    private Instant createdAt;
+    private Instant deliveredAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFromAccount() {
+        return fromAccount;
+    }
+
+    public void setFromAccount(String fromAccount) {
+        this.fromAccount = fromAccount;
+    }
+
+    public String getToAccount() {
+        return toAccount;
+    }
+
+    public void setToAccount(String toAccount) {
+        this.toAccount = toAccount;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getDeliveredAt() {
+        return deliveredAt;
+    }
+
+    public void setDeliveredAt(Instant deliveredAt) {
+        this.deliveredAt = deliveredAt;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.quarkuschallenge.shard;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class TransferOutboxRepository implements PanacheRepositoryBase<TransferOutboxModel, String> {
+
+    /**
+     * Oldest undelivered transfers first, served by the partial pending index.
+     */
+    public List<TransferOutboxModel> findPending(int limit) {
+        return find("deliveredAt is null", Sort.by("createdAt"))
+                .page(Page.ofSize(limit))
+                .list();
+    }
+
+    public void markDelivered(String id, Instant deliveredAt) {
+        update("deliveredAt = ?1 where id = ?2 and deliveredAt is null", deliveredAt, id);
+    }
+
+    /**
+     * Records on the destination shard that the transfer is being credited.
+     * Returns {@code false} if it was credited before. A concurrent delivery of
+     * the same transfer waits for this transaction and then sees the row.
+     */
+    public boolean receive(String id, Instant receivedAt) {
+        return getEntityManager().createNativeQuery("""
+                INSERT INTO TransferInbox (id, receivedAt) VALUES (?1, ?2)
+                ON CONFLICT (id) DO NOTHING
+                """)
+                .setParameter(1, id)
+                .setParameter(2, receivedAt)
+                .executeUpdate() == 1;
+    }
+}
@@ -0,0 +1,12 @@
+-- Balances were stored as double precision major units; they are now bigint minor units
+-- (cents, øre). Converts existing rows once; on a database without the table, or where
+-- the column is already bigint, this does nothing.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'accountmodel'
+               AND column_name = 'balance' AND data_type IN ('double precision', 'real')) THEN
+        ALTER TABLE AccountModel ALTER COLUMN balance TYPE bigint USING round(balance * 100)::bigint;
+    END IF;
+END
+$$;
@@ -0,0 +1,4 @@
+-- Transaction history is read per account, newest first, with keyset pagination on
+-- (createdAt, id). This index serves both the filter and the order, so a page is an
+-- index range scan however deep into the history it starts.
+CREATE INDEX IF NOT EXISTS ledgerentrymodel_history_idx ON LedgerEntryModel (accountNumber, createdAt, id);
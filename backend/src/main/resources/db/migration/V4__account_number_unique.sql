@@ -0,0 +1,11 @@
+-- accountNumber is the natural id of AccountModel and is looked up on every request.
+-- On a fresh database Hibernate creates the table with this index; existing tables get
+-- it here. Account numbers are random UUIDs, so existing data has no duplicates.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables
+               WHERE table_schema = current_schema() AND table_name = 'accountmodel') THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS accountmodel_accountnumber_key ON AccountModel (accountNumber);
+    END IF;
+END
+$$;
@@ -0,0 +1,12 @@
+-- Responses of requests sent with an Idempotency-Key. A row without a status is a claim
+-- for a request that is running or whose outcome is unknown.
+CREATE TABLE IF NOT EXISTS IdempotencyRecordModel (
+    idempotencyKey varchar(255) NOT NULL PRIMARY KEY,
+    requestHash varchar(255),
+    status integer,
+    responseBody text,
+    createdAt timestamp(6) with time zone
+);
+
+-- Supports the purge of expired records.
+CREATE INDEX IF NOT EXISTS idempotencyrecordmodel_createdat_idx ON IdempotencyRecordModel (createdAt);
@@ -0,0 +1,17 @@
+-- The schema is owned by these migrations; Hibernate no longer creates or updates it.
+-- Creates the account table on a fresh database with the columns Hibernate used to generate,
+-- and leaves a table created by Hibernate on an existing database as it is.
+CREATE TABLE IF NOT EXISTS AccountModel (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    accountNumber varchar(255) NOT NULL,
+    balance bigint NOT NULL,
+    firstName varchar(255),
+    lastName varchar(255)
+);
+
+-- Every account has been created with a number; tables created by Hibernate allowed null.
+ALTER TABLE AccountModel ALTER COLUMN accountNumber SET NOT NULL;
+
+-- Natural id lookups. V4 only added it to tables that already existed. Keyset pagination
+-- over accounts (id > :after ORDER BY id) is served by the primary key.
+CREATE UNIQUE INDEX IF NOT EXISTS accountmodel_accountnumber_key ON AccountModel (accountNumber);
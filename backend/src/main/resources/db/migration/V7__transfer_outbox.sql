@@ -0,0 +1,20 @@
+-- Transfers between accounts on different shards. The source shard records the debited
+-- transfer in its outbox in the same transaction as the debit; the destination shard records
+-- every transfer it has credited in its inbox, in the same transaction as the credit, so a
+-- redelivered transfer is credited once. Every shard runs the same migrations and has both.
+CREATE TABLE IF NOT EXISTS TransferOutboxModel (
+    id varchar(255) NOT NULL PRIMARY KEY,
+    fromAccount varchar(255) NOT NULL,
+    toAccount varchar(255) NOT NULL,
+    amount bigint NOT NULL,
+    createdAt timestamp(6) with time zone NOT NULL,
+    deliveredAt timestamp(6) with time zone
+);
+
+-- The relay only looks at transfers that have not been delivered yet.
+CREATE INDEX IF NOT EXISTS transferoutboxmodel_pending_idx ON TransferOutboxModel (createdAt) WHERE deliveredAt IS NULL;
+
+CREATE TABLE IF NOT EXISTS TransferInbox (
+    id varchar(255) NOT NULL PRIMARY KEY,
+    receivedAt timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Account ids come from a sequence instead of an identity column, so Hibernate can allocate
+-- them in blocks and batch account inserts. Each value reserves the block of 500 ids ending
+-- at it (the pooled optimizer), so inserts that take single values with nextval, like the
+-- reactive client's, never collide with a block. The sequence starts after the existing ids.
+CREATE SEQUENCE IF NOT EXISTS AccountModel_SEQ INCREMENT BY 500;
+SELECT setval('AccountModel_SEQ', (SELECT COALESCE(MAX(id), 0) FROM AccountModel) + 500);
+
+ALTER TABLE AccountModel ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE AccountModel ALTER COLUMN id SET DEFAULT nextval('AccountModel_SEQ');
+ALTER SEQUENCE AccountModel_SEQ OWNED BY AccountModel.id;
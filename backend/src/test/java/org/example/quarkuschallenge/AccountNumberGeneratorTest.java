@@ -0,0 +1,58 @@
+package org.example.quarkuschallenge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.example.quarkuschallenge.account.AccountNumberGenerator;
+import org.example.quarkuschallenge.account.TimeOrderedAccountNumberGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+class AccountNumberGeneratorTest {
+
+        private final AccountNumberGenerator generator = new TimeOrderedAccountNumberGenerator();
+
+        @Test
+        @Tag("account-number")
+        void testNumbersAreVersion7UuidsInTheCanonicalFormat() {
+                String accountNumber = generator.next();
+                UUID uuid = UUID.fromString(accountNumber);
+
+                assertEquals(36, accountNumber.length());
+                assertEquals(uuid.toString(), accountNumber);
+                assertEquals(7, uuid.version());
+                assertEquals(2, uuid.variant());
+        }
+
+        @Test
+        @Tag("account-number")
+        void testNumbersSortByCreationTime() throws InterruptedException {
+                List<String> accountNumbers = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                        accountNumbers.add(generator.next());
+                        Thread.sleep(2);
+                }
+
+                List<String> sorted = new ArrayList<>(accountNumbers);
+                sorted.sort(null);
+                assertEquals(accountNumbers, sorted);
+
+                long millis = UUID.fromString(accountNumbers.get(0)).getMostSignificantBits() >>> 16;
+                assertTrue(Math.abs(System.currentTimeMillis() - millis) < 10_000);
+        }
+
+        @Test
+        @Tag("account-number")
+        void testConcurrentNumbersAreUnique() {
+                Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+                IntStream.range(0, 200_000).parallel().forEach(i -> accountNumbers.add(generator.next()));
+                assertEquals(200_000, accountNumbers.size());
+        }
+}
@@ -4,8 +4,15 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.example.quarkuschallenge.account.AccountEvents;
 import org.example.quarkuschallenge.account.AccountModel;
 import org.example.quarkuschallenge.account.AccountRepository;
 import org.example.quarkuschallenge.account.input.AccountInput;
@@ -18,6 +25,7 @@ import org.junit.jupiter.api.Test;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.RestAssured;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
@@ -28,6 +36,9 @@ class AccountResourceTest {
         @Inject
         AccountRepository accountRepository;
 
+        @Inject
+        AccountEvents accountEvents;
+
         @BeforeEach
         @Transactional
         void purgeDatabase() {
@@ -83,7 +94,7 @@ class AccountResourceTest {
                                 .as(AccountModel.class);
 
                 DepositeInput depositeInput = new DepositeInput();
-                depositeInput.setAmount(100);
+                depositeInput.setAmount(100_00);
                 RestAssured.given()
                                 .contentType("application/json")
                                 .body(depositeInput)
@@ -91,7 +102,42 @@ class AccountResourceTest {
                                 .post("/account/" + account.getAccountNumber() + "/deposit")
                                 .then()
                                 .statusCode(200)
-                                .body("balance", equalTo((float) depositeInput.getAmount()));
+                                .body("balance", equalTo((float) 100));
+        }
+
+        @Test
+        @Tag("deposit")
+        public void testDepositAmountAsString() {
+                AccountInput input = new AccountInput();
+                input.setFirstName("John");
+                input.setLastName("Doe");
+
+                AccountModel account = RestAssured.given()
+                                .contentType("application/json")
+                                .body(input)
+                                .when()
+                                .post("/account")
+                                .then()
+                                .statusCode(200)
+                                .extract()
+                                .as(AccountModel.class);
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": \"12.50\"}")
+                                .when()
+                                .post("/account/" + account.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo(12.5f));
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": \"12.505\"}")
+                                .when()
+                                .post("/account/" + account.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(400);
         }
 
         @Test
@@ -128,7 +174,7 @@ class AccountResourceTest {
         public void testDepositToNonExistingAccount() {
                 String invalidAccountNumber = "non-existing-account";
                 DepositeInput depositeInput = new DepositeInput();
-                depositeInput.setAmount(100);
+                depositeInput.setAmount(100_00);
 
                 RestAssured.given()
                                 .contentType("application/json")
@@ -157,7 +203,7 @@ class AccountResourceTest {
                                 .as(AccountModel.class);
 
                 DepositeInput depositeInput = new DepositeInput();
-                depositeInput.setAmount(100);
+                depositeInput.setAmount(100_00);
                 RestAssured.given()
                                 .contentType("application/json")
                                 .body(depositeInput)
@@ -183,7 +229,7 @@ class AccountResourceTest {
                 TransferInput input = new TransferInput();
                 input.setFromAccount(sourceAccount.getAccountNumber());
                 input.setToAccount(destinationAccount.getAccountNumber());
-                input.setAmount(100);
+                input.setAmount(100_00);
 
                 RestAssured.given()
                                 .contentType("application/json")
@@ -230,7 +276,7 @@ class AccountResourceTest {
                 TransferInput input = new TransferInput();
                 input.setFromAccount("non-existing-account");
                 input.setToAccount(validAccount.getAccountNumber());
-                input.setAmount(50.0);
+                input.setAmount(50_00);
 
                 RestAssured.given()
                                 .contentType("application/json")
@@ -262,7 +308,7 @@ class AccountResourceTest {
                 TransferInput input = new TransferInput();
                 input.setFromAccount(validAccount.getAccountNumber());
                 input.setToAccount("non-existing-account");
-                input.setAmount(50.0);
+                input.setAmount(50_00);
 
                 RestAssured.given()
                                 .contentType("application/json")
@@ -308,7 +354,7 @@ class AccountResourceTest {
                 TransferInput input = new TransferInput();
                 input.setFromAccount(sourceAccount.getAccountNumber());
                 input.setToAccount(destinationAccount.getAccountNumber());
-                input.setAmount(100.0);
+                input.setAmount(100_00);
 
                 RestAssured.given()
                                 .contentType("application/json")
@@ -386,7 +432,7 @@ class AccountResourceTest {
                 TransferInput input = new TransferInput();
                 input.setFromAccount(validAccount.getAccountNumber());
                 input.setToAccount(validAccount.getAccountNumber());
-                input.setAmount(50.0);
+                input.setAmount(50_00);
 
                 RestAssured.given()
                                 .contentType("application/json")
@@ -441,7 +487,7 @@ class AccountResourceTest {
                                 .as(AccountModel.class);
 
                 DepositeInput depositeInput = new DepositeInput();
-                depositeInput.setAmount(100);
+                depositeInput.setAmount(100_00);
                 RestAssured.given()
                                 .contentType("application/json")
                                 .body(depositeInput)
@@ -455,7 +501,102 @@ class AccountResourceTest {
                                 .get("/account/" + account.getAccountNumber() + "/balance")
                                 .then()
                                 .statusCode(200)
-                                .body("balance", equalTo((float) depositeInput.getAmount()));
+                                .body("balance", equalTo((float) 100));
+        }
+
+        @Test
+        @Tag("balance")
+        public void testCachedBalanceIsInvalidatedByWrites() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 100_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+
+                for (int i = 0; i < 2; i++) {
+                        RestAssured.given()
+                                        .when()
+                                        .get("/account/" + destination.getAccountNumber() + "/balance")
+                                        .then()
+                                        .statusCode(200)
+                                        .body("balance", equalTo((float) 0));
+                }
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(transferInput(source.getAccountNumber(), destination.getAccountNumber(), 40_00))
+                                .when()
+                                .post("/account/transfer")
+                                .then()
+                                .statusCode(200);
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + destination.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 40));
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": 5}")
+                                .when()
+                                .post("/reactive/account/" + destination.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200);
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + destination.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 45));
+
+                RestAssured.given()
+                                .when()
+                                .get("/q/metrics")
+                                .then()
+                                .statusCode(200)
+                                .body(containsString("cache_gets_total{cache=\"account-balance\",result=\"hit\"}"))
+                                .body(containsString("cache_gets_total{cache=\"account-balance\",result=\"miss\"}"));
+        }
+
+        @Test
+        @Tag("events")
+        public void testAccountEventsCarryCommittedBalancesOfSubscribedAccounts() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 100_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+
+                AssertSubscriber<AccountModel> subscriber = accountEvents
+                                .updates(Set.of(destination.getAccountNumber()))
+                                .subscribe().withSubscriber(AssertSubscriber.create(10));
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(transferInput(source.getAccountNumber(), destination.getAccountNumber(), 40_00))
+                                .when()
+                                .post("/account/transfer")
+                                .then()
+                                .statusCode(200);
+                subscriber.awaitItems(1, Duration.ofSeconds(10));
+                assertEquals(destination.getAccountNumber(), subscriber.getItems().get(0).getAccountNumber());
+                assertEquals(40_00, subscriber.getItems().get(0).getBalance());
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": 10}")
+                                .when()
+                                .post("/account/" + source.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200);
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": 5}")
+                                .when()
+                                .post("/account/" + destination.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200);
+                subscriber.awaitItems(2, Duration.ofSeconds(10)).cancel();
+                assertEquals(destination.getAccountNumber(), subscriber.getItems().get(1).getAccountNumber());
+                assertEquals(45_00, subscriber.getItems().get(1).getBalance());
+                assertEquals(2, subscriber.getItems().size());
         }
 
         @Test
@@ -504,4 +645,510 @@ class AccountResourceTest {
                                 .statusCode(200)
                                 .body("size()", equalTo(2));
         }
+
+        @Test
+        @Tag("getAll")
+        public void testGetAccountsPage() {
+                for (int i = 0; i < 3; i++) {
+                        AccountInput input = new AccountInput();
+                        input.setFirstName("John");
+                        input.setLastName("Doe " + i);
+
+                        RestAssured.given()
+                                        .contentType("application/json")
+                                        .body(input)
+                                        .when()
+                                        .post("/account")
+                                        .then()
+                                        .statusCode(200);
+                }
+
+                String nextCursor = RestAssured.given()
+                                .queryParam("limit", 2)
+                                .when()
+                                .get("/account")
+                                .then()
+                                .statusCode(200)
+                                .body("items.size()", equalTo(2))
+                                .body("items[0].lastName", equalTo("Doe 0"))
+                                .body("nextCursor", notNullValue())
+                                .extract()
+                                .path("nextCursor");
+
+                RestAssured.given()
+                                .queryParam("limit", 2)
+                                .queryParam("after", nextCursor)
+                                .when()
+                                .get("/account")
+                                .then()
+                                .statusCode(200)
+                                .body("items.size()", equalTo(1))
+                                .body("items[0].lastName", equalTo("Doe 2"))
+                                .body("nextCursor", nullValue());
+        }
+
+        @Test
+        @Tag("bulk")
+        public void testCreateAccountsInBulk() {
+                List<AccountInput> inputs = new ArrayList<>();
+                for (int i = 0; i < 1_200; i++) {
+                        AccountInput input = new AccountInput();
+                        input.setFirstName("Bulk");
+                        input.setLastName("Holder " + i);
+                        inputs.add(input);
+                }
+
+                List<AccountModel> accounts = RestAssured.given()
+                                .contentType("application/json")
+                                .body(inputs)
+                                .when()
+                                .post("/account/bulk")
+                                .then()
+                                .statusCode(200)
+                                .extract()
+                                .jsonPath()
+                                .getList(".", AccountModel.class);
+                assertEquals(1_200, accounts.size());
+                assertEquals("Holder 1199", accounts.get(1_199).getLastName());
+                assertEquals(1_200, accounts.stream().map(AccountModel::getAccountNumber).distinct().count());
+                assertEquals(1_200, accountRepository.count());
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": 10}")
+                                .when()
+                                .post("/account/" + accounts.get(600).getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 10));
+
+                // Single inserts outside Hibernate draw from the same sequence without colliding.
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(inputs.get(0))
+                                .when()
+                                .post("/reactive/account")
+                                .then()
+                                .statusCode(200);
+                assertEquals(1_201, accountRepository.count());
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(List.of())
+                                .when()
+                                .post("/account/bulk")
+                                .then()
+                                .statusCode(400);
+        }
+
+        @Test
+        @Tag("getAll")
+        public void testGetAccountsPageInvalidLimit() {
+                RestAssured.given()
+                                .queryParam("limit", 0)
+                                .when()
+                                .get("/account")
+                                .then()
+                                .statusCode(400);
+        }
+
+        @Test
+        @Tag("batch")
+        public void testBatchTransferPerItem() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 100_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+
+                List<TransferInput> transfers = List.of(
+                                transferInput(source.getAccountNumber(), destination.getAccountNumber(), 60_00),
+                                transferInput(source.getAccountNumber(), destination.getAccountNumber(), 60_00),
+                                transferInput(source.getAccountNumber(), "non-existing-account", 10_00),
+                                transferInput(destination.getAccountNumber(), source.getAccountNumber(), 10_00));
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .queryParam("mode", "per-item")
+                                .body(transfers)
+                                .when()
+                                .post("/account/transfers/batch")
+                                .then()
+                                .statusCode(200)
+                                .body("committed", equalTo(true))
+                                .body("results.status", equalTo(List.of("APPLIED", "FAILED", "FAILED", "APPLIED")))
+                                .body("results[1].error", equalTo("Insufficient balance in source account"))
+                                .body("results[2].error", equalTo("Destination account not found"));
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + source.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 50));
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + destination.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 50));
+        }
+
+        @Test
+        @Tag("batch")
+        public void testBatchTransferAllOrNothingRollsBack() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 100_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+
+                List<TransferInput> transfers = List.of(
+                                transferInput(source.getAccountNumber(), destination.getAccountNumber(), 60_00),
+                                transferInput(source.getAccountNumber(), destination.getAccountNumber(), 60_00));
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(transfers)
+                                .when()
+                                .post("/account/transfers/batch")
+                                .then()
+                                .statusCode(400)
+                                .body("committed", equalTo(false))
+                                .body("results.status", equalTo(List.of("ROLLED_BACK", "FAILED")));
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + source.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 100));
+        }
+
+        @Test
+        @Tag("deposit")
+        public void testDepositAmountsStayExact() {
+                AccountModel account = createAccountWithBalance("John", "Doe", 0);
+
+                for (int i = 0; i < 10; i++) {
+                        RestAssured.given()
+                                        .contentType("application/json")
+                                        .body("{\"amount\": 0.1}")
+                                        .when()
+                                        .post("/account/" + account.getAccountNumber() + "/deposit")
+                                        .then()
+                                        .statusCode(200);
+                }
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + account.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body(containsString("\"balance\":1.00"));
+        }
+
+        @Test
+        @Tag("deposit")
+        public void testDepositRejectsSubMinorUnitAmount() {
+                AccountModel account = createAccountWithBalance("John", "Doe", 0);
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": 0.001}")
+                                .when()
+                                .post("/account/" + account.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(400);
+        }
+
+        @Test
+        @Tag("deposit")
+        public void testDepositOverflowingTheBalanceIsRejected() {
+                AccountModel account = createAccountWithBalance("John", "Doe", 0);
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": 92233720368547758.07}")
+                                .when()
+                                .post("/account/" + account.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200);
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body("{\"amount\": 1}")
+                                .when()
+                                .post("/account/" + account.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(400)
+                                .body("error", containsString("overflow"));
+        }
+
+        @Test
+        @Tag("metrics")
+        public void testTransferMetricsAreExposed() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 10_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(transferInput(source.getAccountNumber(), destination.getAccountNumber(), 50_00))
+                                .when()
+                                .post("/account/transfer")
+                                .then()
+                                .statusCode(400);
+
+                RestAssured.given()
+                                .when()
+                                .get("/q/metrics")
+                                .then()
+                                .statusCode(200)
+                                .body(containsString("account_transfers_total{engine=\"atomic\",outcome=\"insufficient_funds\"}"))
+                                .body(containsString("http_server_requests_seconds_bucket{"))
+                                .body(containsString("uri=\"/account/transfer\""))
+                                .body(containsString("agroal_active_count"));
+        }
+
+        @Test
+        @Tag("transactions")
+        public void testGetTransactionsPages() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 100_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+
+                for (long amount : new long[] { 10_00, 20_00 }) {
+                        RestAssured.given()
+                                        .contentType("application/json")
+                                        .body(transferInput(source.getAccountNumber(), destination.getAccountNumber(),
+                                                        amount))
+                                        .when()
+                                        .post("/account/transfer")
+                                        .then()
+                                        .statusCode(200);
+                }
+
+                String nextCursor = RestAssured.given()
+                                .queryParam("limit", 2)
+                                .when()
+                                .get("/account/" + source.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(200)
+                                .body("items.size()", equalTo(2))
+                                .body("items[0].type", equalTo("TRANSFER_OUT"))
+                                .body("items[0].amount", equalTo(-20.0f))
+                                .body("items[0].counterparty", equalTo(destination.getAccountNumber()))
+                                .body("items[1].amount", equalTo(-10.0f))
+                                .body("nextCursor", notNullValue())
+                                .extract()
+                                .path("nextCursor");
+
+                RestAssured.given()
+                                .queryParam("limit", 2)
+                                .queryParam("after", nextCursor)
+                                .when()
+                                .get("/account/" + source.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(200)
+                                .body("items.size()", equalTo(1))
+                                .body("items[0].type", equalTo("DEPOSIT"))
+                                .body("items[0].amount", equalTo(100.0f))
+                                .body("nextCursor", nullValue());
+        }
+
+        @Test
+        @Tag("transactions")
+        public void testGetTransactionsFiltersAndStreams() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 100_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(transferInput(source.getAccountNumber(), destination.getAccountNumber(), 10_00))
+                                .when()
+                                .post("/account/transfer")
+                                .then()
+                                .statusCode(200);
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + source.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(200)
+                                .body("size()", equalTo(2));
+
+                RestAssured.given()
+                                .queryParam("type", "deposit")
+                                .when()
+                                .get("/account/" + source.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(200)
+                                .body("size()", equalTo(1))
+                                .body("[0].type", equalTo("DEPOSIT"));
+
+                RestAssured.given()
+                                .queryParam("to", "2000-01-01T00:00:00Z")
+                                .when()
+                                .get("/account/" + source.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(200)
+                                .body("size()", equalTo(0));
+        }
+
+        @Test
+        @Tag("transactions")
+        public void testGetTransactionsInvalidRequests() {
+                AccountModel account = createAccountWithBalance("John", "Doe", 0);
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/missing/transactions")
+                                .then()
+                                .statusCode(404);
+
+                RestAssured.given()
+                                .queryParam("limit", 10)
+                                .when()
+                                .get("/account/missing/transactions")
+                                .then()
+                                .statusCode(404);
+
+                RestAssured.given()
+                                .queryParam("after", "not-a-cursor")
+                                .when()
+                                .get("/account/" + account.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(400);
+
+                RestAssured.given()
+                                .queryParam("from", "yesterday")
+                                .when()
+                                .get("/account/" + account.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(400);
+
+                RestAssured.given()
+                                .queryParam("type", "WITHDRAWAL")
+                                .when()
+                                .get("/account/" + account.getAccountNumber() + "/transactions")
+                                .then()
+                                .statusCode(400)
+                                .body("error", equalTo(
+                                                "Invalid type: WITHDRAWAL, expected one of [DEPOSIT, TRANSFER_IN, TRANSFER_OUT]"));
+        }
+
+        @Test
+        @Tag("idempotency")
+        public void testDepositRetryWithIdempotencyKeyIsAppliedOnce() {
+                AccountModel account = createAccountWithBalance("John", "Doe", 0);
+                String key = "deposit-" + account.getAccountNumber();
+
+                for (int i = 0; i < 3; i++) {
+                        RestAssured.given()
+                                        .contentType("application/json")
+                                        .header("Idempotency-Key", key)
+                                        .body("{\"amount\": 100}")
+                                        .when()
+                                        .post("/account/" + account.getAccountNumber() + "/deposit")
+                                        .then()
+                                        .statusCode(200)
+                                        .header("Idempotent-Replayed", i == 0 ? nullValue() : equalTo("true"))
+                                        .body("balance", equalTo((float) 100));
+                }
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .header("Idempotency-Key", key)
+                                .body("{\"amount\": 200}")
+                                .when()
+                                .post("/account/" + account.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(422);
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + account.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 100));
+        }
+
+        @Test
+        @Tag("idempotency")
+        public void testFailedTransferReleasesIdempotencyKey() {
+                AccountModel source = createAccountWithBalance("John", "Doe", 10_00);
+                AccountModel destination = createAccountWithBalance("Jane", "Smith", 0);
+                String key = "transfer-" + source.getAccountNumber();
+                TransferInput transfer = transferInput(source.getAccountNumber(), destination.getAccountNumber(),
+                                50_00);
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .header("Idempotency-Key", key)
+                                .body(transfer)
+                                .when()
+                                .post("/account/transfer")
+                                .then()
+                                .statusCode(400);
+
+                DepositeInput deposit = new DepositeInput();
+                deposit.setAmount(40_00);
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(deposit)
+                                .when()
+                                .post("/account/" + source.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200);
+
+                for (int i = 0; i < 2; i++) {
+                        RestAssured.given()
+                                        .contentType("application/json")
+                                        .header("Idempotency-Key", key)
+                                        .body(transfer)
+                                        .when()
+                                        .post("/account/transfer")
+                                        .then()
+                                        .statusCode(200)
+                                        .body("message", equalTo("Transfer successful"));
+                }
+
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + destination.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 50));
+        }
+
+        private AccountModel createAccountWithBalance(String firstName, String lastName, long balance) {
+                AccountInput input = new AccountInput();
+                input.setFirstName(firstName);
+                input.setLastName(lastName);
+
+                AccountModel account = RestAssured.given()
+                                .contentType("application/json")
+                                .body(input)
+                                .when()
+                                .post("/account")
+                                .then()
+                                .statusCode(200)
+                                .extract()
+                                .as(AccountModel.class);
+
+                if (balance > 0) {
+                        DepositeInput depositeInput = new DepositeInput();
+                        depositeInput.setAmount(balance);
+                        RestAssured.given()
+                                        .contentType("application/json")
+                                        .body(depositeInput)
+                                        .when()
+                                        .post("/account/" + account.getAccountNumber() + "/deposit")
+                                        .then()
+                                        .statusCode(200);
+                }
+                return account;
+        }
+
+        private TransferInput transferInput(String fromAccount, String toAccount, long amount) {
+                TransferInput input = new TransferInput();
+                input.setFromAccount(fromAccount);
+                input.setToAccount(toAccount);
+                input.setAmount(amount);
+                return input;
+        }
 }
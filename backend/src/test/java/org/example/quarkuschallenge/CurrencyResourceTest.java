@@ -0,0 +1,56 @@
+package org.example.quarkuschallenge;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+@QuarkusTestResource(ExchangeRateStubResource.class)
+class CurrencyResourceTest {
+
+        @ConfigProperty(name = "exchange-rate.api-url")
+        String apiUrl;
+
+        @Test
+        @Tag("conversion")
+        public void testConversionUsesCachedRateTable() {
+                int requestsBefore = upstreamRequests();
+
+                for (int i = 0; i < 5; i++) {
+                        assertEquals(100 * ExchangeRateStubResource.USD_TO_DKK, convert("USD", "DKK", 100), 0.0001);
+                }
+                assertEquals(100 * ExchangeRateStubResource.DKK_TO_USD, convert("DKK", "USD", 100), 0.0001);
+
+                // At most one table per base currency is fetched, however many conversions run.
+                assertTrue(upstreamRequests() - requestsBefore <= 2);
+        }
+
+        private double convert(String fromCurrency, String toCurrency, double amount) {
+                return given()
+                                .when()
+                                .get("/currency/conversion/" + fromCurrency + "/" + toCurrency + "/" + amount)
+                                .then()
+                                .statusCode(200)
+                                .extract()
+                                .as(Double.class);
+        }
+
+        private int upstreamRequests() {
+                return Integer.parseInt(given()
+                                .baseUri(apiUrl)
+                                .when()
+                                .get("stats/requests")
+                                .then()
+                                .statusCode(200)
+                                .extract()
+                                .asString());
+        }
+}
@@ -0,0 +1,73 @@
+package org.example.quarkuschallenge;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+/**
+ * Local stand-in for the exchange rate API. Serves fixed rate tables under
+ * {@code /{apiKey}/latest/{base}} and the number of rate requests received
+ * under {@code /stats/requests}.
+ */
+public class ExchangeRateStubResource implements QuarkusTestResourceLifecycleManager {
+
+    public static final String API_KEY = "test-key";
+    public static final double USD_TO_DKK = 6.5;
+    public static final double DKK_TO_USD = 0.15;
+
+    private final AtomicInteger rateRequests = new AtomicInteger();
+    private HttpServer server;
+
+    @Override
+    public Map<String, String> start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start exchange rate stub", e);
+        }
+        server.createContext("/" + API_KEY + "/latest/USD", exchange -> {
+            rateRequests.incrementAndGet();
+            respond(exchange, 200, """
+                    {"result":"success","base_code":"USD","conversion_rates":{"USD":1,"DKK":%s}}
+                    """.formatted(USD_TO_DKK));
+        });
+        server.createContext("/" + API_KEY + "/latest/DKK", exchange -> {
+            rateRequests.incrementAndGet();
+            respond(exchange, 200, """
+                    {"result":"success","base_code":"DKK","conversion_rates":{"DKK":1,"USD":%s}}
+                    """.formatted(DKK_TO_USD));
+        });
+        server.createContext("/stats/requests", exchange -> respond(exchange, 200, String.valueOf(rateRequests.get())));
+        server.start();
+
+        Map<String, String> config = new HashMap<>();
+        config.put("exchange-rate.api-url", "http://localhost:" + server.getAddress().getPort() + "/");
+        config.put("exchange-rate.api-key", API_KEY);
+        return config;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.quarkuschallenge;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.example.quarkuschallenge.account.AccountLocks;
+import org.example.quarkuschallenge.account.AccountRepository;
+import org.example.quarkuschallenge.account.AccountService;
+import org.example.quarkuschallenge.account.TransferEngine;
+import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.account.input.TransferInput;
+import org.example.quarkuschallenge.ledger.BalanceSnapshotJob;
+import org.example.quarkuschallenge.ledger.LedgerRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Transactional;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+@TestProfile(LedgerWriterTimeoutTest.ShortTimeouts.class)
+class LedgerWriterTimeoutTest {
+
+        /**
+         * The ledger engine with short append and lock timeouts.
+         */
+        public static class ShortTimeouts implements QuarkusTestProfile {
+
+                @Override
+                public Map<String, String> getConfigOverrides() {
+                        return Map.of(
+                                        "account.transfer.engine", "ledger",
+                                        "account.ledger.append-timeout", "PT0.5S",
+                                        "account.lock.timeout", "PT0.5S");
+                }
+        }
+
+        @Inject
+        AccountService accountService;
+
+        @Inject
+        AccountRepository accountRepository;
+
+        @Inject
+        LedgerRepository ledgerRepository;
+
+        @Inject
+        BalanceSnapshotJob balanceSnapshotJob;
+
+        @Inject
+        AgroalDataSource dataSource;
+
+        @Inject
+        AccountLocks accountLocks;
+
+        @Test
+        @Tag("transfer")
+        void testTimedOutAppendIsNeverWritten() throws Exception {
+                String accountNumber = createAccount();
+
+                CompletableFuture<Void> taken;
+                try (Connection connection = dataSource.getConnection()) {
+                        // Stalls the writer on the insert of the first deposit while the second one waits in the queue.
+                        connection.setAutoCommit(false);
+                        try (Statement statement = connection.createStatement()) {
+                                statement.execute("LOCK TABLE LedgerEntryModel IN EXCLUSIVE MODE");
+                        }
+                        taken = CompletableFuture.runAsync(
+                                        () -> accountService.depositMoney(accountNumber, 10_00, TransferEngine.LEDGER));
+                        awaitBlockedInsert();
+
+                        assertThrows(PersistenceException.class,
+                                        () -> accountService.depositMoney(accountNumber, 20_00, TransferEngine.LEDGER));
+                        connection.rollback();
+                }
+
+                // Taken by the writer before its timeout, so the first deposit waits for the insert and succeeds.
+                taken.get(10, TimeUnit.SECONDS);
+
+                assertEquals(10_00, accountService.getAccount(accountNumber).getBalance());
+                balanceSnapshotJob.fold();
+                assertEquals(10_00, storedBalance(accountNumber));
+                assertEquals(1, ledgerRepository.count("accountNumber", accountNumber));
+        }
+
+        @Test
+        @Tag("idempotency")
+        void testLockTimeoutReleasesIdempotencyKey() {
+                String source = createAccount();
+                String destination = createAccount();
+                accountService.depositMoney(source, 10_00);
+                TransferInput transfer = new TransferInput();
+                transfer.setFromAccount(source);
+                transfer.setToAccount(destination);
+                transfer.setAmount(4_00);
+                String key = "lock-timeout-" + source;
+
+                // The source stripe is held here, so the request gives up before touching the ledger.
+                accountLocks.callLocked(List.of(source), () -> RestAssured.given()
+                                .contentType("application/json")
+                                .header("Idempotency-Key", key)
+                                .body(transfer)
+                                .when()
+                                .post("/account/transfer")
+                                .then()
+                                .statusCode(503)
+                                .header("Retry-After", "1"));
+
+                RestAssured.given()
+                                .contentType("application/json")
+                                .header("Idempotency-Key", key)
+                                .body(transfer)
+                                .when()
+                                .post("/account/transfer")
+                                .then()
+                                .statusCode(200)
+                                .body("message", equalTo("Transfer successful"));
+                assertEquals(6_00, accountService.getAccount(source).getBalance());
+        }
+
+        private void awaitBlockedInsert() throws Exception {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                try (Connection connection = dataSource.getConnection();
+                                Statement statement = connection.createStatement()) {
+                        while (System.nanoTime() < deadline) {
+                                try (ResultSet result = statement.executeQuery("SELECT count(*) FROM pg_stat_activity"
+                                                + " WHERE wait_event_type = 'Lock' AND query LIKE 'INSERT INTO LedgerEntryModel%'")) {
+                                        result.next();
+                                        if (result.getInt(1) > 0) {
+                                                return;
+                                        }
+                                }
+                                Thread.sleep(20);
+                        }
+                }
+                throw new AssertionError("The ledger writer never blocked on its insert");
+        }
+
+        private String createAccount() {
+                AccountInput input = new AccountInput();
+                input.setFirstName("Ledger");
+                input.setLastName("Timeout");
+                return accountService.createAccount(input).getAccountNumber();
+        }
+
+        @Transactional
+        long storedBalance(String accountNumber) {
+                return accountRepository.find("accountNumber", accountNumber).firstResult().getBalance();
+        }
+}
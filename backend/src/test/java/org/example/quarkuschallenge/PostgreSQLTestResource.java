@@ -19,6 +19,9 @@ public class PostgreSQLTestResource implements QuarkusTestResourceLifecycleManag
         POSTGRESQL_CONTAINER.start();
         Map<String, String> config = new HashMap<>();
         config.put("quarkus.datasource.jdbc.url", POSTGRESQL_CONTAINER.getJdbcUrl());
+        config.put("quarkus.datasource.reactive.url", "postgresql://" + POSTGRESQL_CONTAINER.getHost() + ":"
+                + POSTGRESQL_CONTAINER.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/"
+                + POSTGRESQL_CONTAINER.getDatabaseName());
         config.put("quarkus.datasource.username", POSTGRESQL_CONTAINER.getUsername());
         config.put("quarkus.datasource.password", POSTGRESQL_CONTAINER.getPassword());
         return config;
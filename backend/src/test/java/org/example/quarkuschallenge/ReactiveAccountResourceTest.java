@@ -0,0 +1,152 @@
+package org.example.quarkuschallenge;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountRepository;
+import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.account.input.DepositeInput;
+import org.example.quarkuschallenge.account.input.TransferInput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+class ReactiveAccountResourceTest {
+
+        @Inject
+        AccountRepository accountRepository;
+
+        @BeforeEach
+        @Transactional
+        void purgeDatabase() {
+                accountRepository.deleteAll();
+        }
+
+        @Test
+        @Tag("reactive")
+        public void testDepositAndTransfer() {
+                AccountModel source = createAccount("John", "Doe");
+                AccountModel destination = createAccount("Jane", "Smith");
+
+                DepositeInput depositeInput = new DepositeInput();
+                depositeInput.setAmount(100_00);
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(depositeInput)
+                                .when()
+                                .post("/reactive/account/" + source.getAccountNumber() + "/deposit")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 100));
+
+                TransferInput input = new TransferInput();
+                input.setFromAccount(source.getAccountNumber());
+                input.setToAccount(destination.getAccountNumber());
+                input.setAmount(40_00);
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(input)
+                                .when()
+                                .post("/reactive/account/transfer")
+                                .then()
+                                .statusCode(200)
+                                .body("message", equalTo("Transfer successful"));
+
+                // The blocking stack sees the same rows.
+                RestAssured.given()
+                                .when()
+                                .get("/account/" + destination.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 40));
+
+                RestAssured.given()
+                                .when()
+                                .get("/reactive/account/" + source.getAccountNumber() + "/balance")
+                                .then()
+                                .statusCode(200)
+                                .body("balance", equalTo((float) 60));
+        }
+
+        @Test
+        @Tag("reactive")
+        public void testTransferErrors() {
+                AccountModel source = createAccount("John", "Doe");
+                AccountModel destination = createAccount("Jane", "Smith");
+
+                TransferInput input = new TransferInput();
+                input.setFromAccount(source.getAccountNumber());
+                input.setToAccount(destination.getAccountNumber());
+                input.setAmount(10_00);
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(input)
+                                .when()
+                                .post("/reactive/account/transfer")
+                                .then()
+                                .statusCode(400)
+                                .body("error", equalTo("Insufficient balance in source account"));
+
+                input.setToAccount("non-existing-account");
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(input)
+                                .when()
+                                .post("/reactive/account/transfer")
+                                .then()
+                                .statusCode(404)
+                                .body("error", equalTo("Destination account not found"));
+        }
+
+        @Test
+        @Tag("reactive")
+        public void testGetBalanceForNonExistingAccount() {
+                RestAssured.given()
+                                .when()
+                                .get("/reactive/account/non-existing-account/balance")
+                                .then()
+                                .statusCode(404);
+        }
+
+        @Test
+        @Tag("reactive")
+        public void testGetAccountsPage() {
+                createAccount("John", "Doe");
+                createAccount("Jane", "Smith");
+
+                RestAssured.given()
+                                .queryParam("limit", 1)
+                                .when()
+                                .get("/reactive/account")
+                                .then()
+                                .statusCode(200)
+                                .body("items.size()", equalTo(1))
+                                .body("nextCursor", notNullValue());
+        }
+
+        private AccountModel createAccount(String firstName, String lastName) {
+                AccountInput input = new AccountInput();
+                input.setFirstName(firstName);
+                input.setLastName(lastName);
+
+                return RestAssured.given()
+                                .contentType("application/json")
+                                .body(input)
+                                .when()
+                                .post("/reactive/account")
+                                .then()
+                                .statusCode(200)
+                                .body("accountNumber", notNullValue())
+                                .extract()
+                                .as(AccountModel.class);
+        }
+}
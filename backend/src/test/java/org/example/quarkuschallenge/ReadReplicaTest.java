@@ -0,0 +1,103 @@
+package org.example.quarkuschallenge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountService;
+import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.shard.ReadReplicaRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+@TestProfile(ReadReplicaTest.WithReplica.class)
+class ReadReplicaTest {
+
+        /**
+         * A replica datasource connected to the primary database itself, which is
+         * never behind, with a short read-your-writes window of max-lag plus the
+         * check interval.
+         */
+        public static class WithReplica implements QuarkusTestProfile {
+
+                @Override
+                public Map<String, String> getConfigOverrides() {
+                        return Map.of(
+                                        "quarkus.datasource.\"replica\".db-kind", "postgresql",
+                                        "quarkus.datasource.\"replica\".reactive", "false",
+                                        "quarkus.datasource.\"replica\".devservices.enabled", "false",
+                                        "quarkus.datasource.\"replica\".jdbc.url", "${quarkus.datasource.jdbc.url}",
+                                        "quarkus.datasource.\"replica\".username", "${quarkus.datasource.username}",
+                                        "quarkus.datasource.\"replica\".password", "${quarkus.datasource.password}",
+                                        "account.replica.datasources", "replica",
+                                        "account.replica.max-lag", "PT0.2S",
+                                        "account.replica.lag-check-interval", "PT0.1S");
+                }
+        }
+
+        @Inject
+        AccountService accountService;
+
+        @Inject
+        ReadReplicaRouter readReplicaRouter;
+
+        @Inject
+        MeterRegistry meterRegistry;
+
+        @BeforeEach
+        void checkLag() {
+                readReplicaRouter.checkLag();
+        }
+
+        @Test
+        @Tag("replica")
+        void testListReadsGoToTheReplica() {
+                AccountModel account = createAccount();
+
+                double before = reads("replica");
+                boolean listed = accountService.getAccountPage(0, 1000).getItems().stream()
+                                .anyMatch(item -> item.getAccountNumber().equals(account.getAccountNumber()));
+                assertTrue(listed);
+                assertEquals(before + 1, reads("replica"));
+        }
+
+        @Test
+        @Tag("replica")
+        void testJustWrittenAccountIsReadFromThePrimary() throws InterruptedException {
+                AccountModel account = createAccount();
+                accountService.depositMoney(account.getAccountNumber(), 25_00);
+
+                double before = reads("primary");
+                assertEquals(25_00, accountService.getAccountFromReplica(account.getAccountNumber()).getBalance());
+                assertEquals(before + 1, reads("primary"));
+
+                // Once the read-your-writes window has passed the replica serves the account again.
+                Thread.sleep(500);
+                before = reads("replica");
+                assertEquals(25_00, accountService.getAccountFromReplica(account.getAccountNumber()).getBalance());
+                assertEquals(before + 1, reads("replica"));
+        }
+
+        private AccountModel createAccount() {
+                AccountInput input = new AccountInput();
+                input.setFirstName("Replica");
+                input.setLastName("Reader");
+                return accountService.createAccount(input);
+        }
+
+        private double reads(String target) {
+                return meterRegistry.counter("replica.reads", "target", target).count();
+        }
+}
@@ -0,0 +1,35 @@
+package org.example.quarkuschallenge;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+/**
+ * A second database, used as the {@code shard-1} datasource by
+ * {@link ShardedAccountTest}.
+ */
+public class ShardPostgreSQLTestResource implements QuarkusTestResourceLifecycleManager {
+
+    private static final PostgreSQLContainer<?> POSTGRESQL_CONTAINER = new PostgreSQLContainer<>("postgres:15")
+            .withDatabaseName("shard1db")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Override
+    public Map<String, String> start() {
+        POSTGRESQL_CONTAINER.start();
+        Map<String, String> config = new HashMap<>();
+        config.put("quarkus.datasource.\"shard-1\".jdbc.url", POSTGRESQL_CONTAINER.getJdbcUrl());
+        config.put("quarkus.datasource.\"shard-1\".username", POSTGRESQL_CONTAINER.getUsername());
+        config.put("quarkus.datasource.\"shard-1\".password", POSTGRESQL_CONTAINER.getPassword());
+        return config;
+    }
+
+    @Override
+    public void stop() {
+        POSTGRESQL_CONTAINER.stop();
+    }
+}
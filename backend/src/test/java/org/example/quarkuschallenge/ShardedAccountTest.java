@@ -0,0 +1,233 @@
+package org.example.quarkuschallenge;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountRepository;
+import org.example.quarkuschallenge.account.AccountService;
+import org.example.quarkuschallenge.account.BatchMode;
+import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.account.input.TransferInput;
+import org.example.quarkuschallenge.account.output.AccountSummary;
+import org.example.quarkuschallenge.account.output.CursorPage;
+import org.example.quarkuschallenge.ledger.LedgerEntryModel;
+import org.example.quarkuschallenge.ledger.LedgerEntryType;
+import org.example.quarkuschallenge.ledger.LedgerHistoryFilter;
+import org.example.quarkuschallenge.ledger.LedgerRepository;
+import org.example.quarkuschallenge.shard.CrossShardTransferService;
+import org.example.quarkuschallenge.shard.ShardRouter;
+import org.example.quarkuschallenge.shard.TransferOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import jakarta.inject.Inject;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+@TestProfile(ShardedAccountTest.TwoShards.class)
+class ShardedAccountTest {
+
+        /**
+         * The default datasource plus {@code shard-1}, each with its own database.
+         */
+        public static class TwoShards implements QuarkusTestProfile {
+
+                @Override
+                public Map<String, String> getConfigOverrides() {
+                        return Map.of(
+                                        "quarkus.datasource.\"shard-1\".db-kind", "postgresql",
+                                        "quarkus.datasource.\"shard-1\".reactive", "false",
+                                        "quarkus.datasource.\"shard-1\".devservices.enabled", "false",
+                                        "quarkus.flyway.\"shard-1\".migrate-at-start", "true",
+                                        "account.shard.datasources", "shard-1");
+                }
+
+                @Override
+                public List<TestResourceEntry> testResources() {
+                        return List.of(new TestResourceEntry(ShardPostgreSQLTestResource.class));
+                }
+        }
+
+        @Inject
+        ShardRouter shardRouter;
+
+        @Inject
+        AccountService accountService;
+
+        @Inject
+        AccountRepository accountRepository;
+
+        @Inject
+        LedgerRepository ledgerRepository;
+
+        @Inject
+        TransferOutboxRepository outboxRepository;
+
+        @Inject
+        CrossShardTransferService crossShardTransfers;
+
+        @BeforeEach
+        void purgeShards() {
+                for (String shard : shardRouter.shards()) {
+                        onShard(shard, () -> {
+                                accountRepository.deleteAll();
+                                ledgerRepository.deleteAll();
+                                outboxRepository.deleteAll();
+                                outboxRepository.getEntityManager().createNativeQuery("DELETE FROM TransferInbox")
+                                                .executeUpdate();
+                                return null;
+                        });
+                }
+        }
+
+        @Test
+        @Tag("shard")
+        void testAccountsAreStoredOnTheShardOfTheirNumber() {
+                Set<String> usedShards = new HashSet<>();
+                for (int i = 0; i < 20; i++) {
+                        String accountNumber = createAccount("Shard " + i).getAccountNumber();
+                        String home = shardRouter.shardOf(accountNumber);
+                        usedShards.add(home);
+
+                        for (String shard : shardRouter.shards()) {
+                                boolean stored = onShard(shard,
+                                                () -> accountRepository.existsByAccountNumber(accountNumber));
+                                assertEquals(shard.equals(home), stored, accountNumber + " on " + shard);
+                        }
+                        assertEquals(accountNumber, accountService.getAccount(accountNumber).getAccountNumber());
+                }
+                assertEquals(2, usedShards.size());
+        }
+
+        @Test
+        @Tag("shard")
+        void testCrossShardTransferIsCreditedExactlyOnce() {
+                List<AccountModel> pair = accountsOnDifferentShards();
+                String source = pair.get(0).getAccountNumber();
+                String destination = pair.get(1).getAccountNumber();
+                accountService.depositMoney(source, 100_00);
+
+                accountService.transferMoney(source, destination, 40_00);
+                assertEquals(60_00, accountService.getAccount(source).getBalance());
+                assertEquals(40_00, accountService.getAccount(destination).getBalance());
+
+                LedgerEntryModel debit = history(source, LedgerEntryType.TRANSFER_OUT).get(0);
+                LedgerEntryModel credit = history(destination, LedgerEntryType.TRANSFER_IN).get(0);
+                assertEquals(debit.getReference(), credit.getReference());
+
+                // Lose the delivery mark, as if the relay had died after crediting the destination.
+                onShard(shardRouter.shardOf(source), () -> outboxRepository.update("deliveredAt = null"));
+                assertEquals(1, crossShardTransfers.relayPending());
+                assertEquals(0, crossShardTransfers.relayPending());
+                assertEquals(40_00, accountService.getAccount(destination).getBalance());
+                assertEquals(1, history(destination, LedgerEntryType.TRANSFER_IN).size());
+
+                assertThrows(IllegalArgumentException.class,
+                                () -> accountService.transferMoney(source, destination, 60_01));
+                assertEquals(60_00, accountService.getAccount(source).getBalance());
+                assertEquals(1L, onShard(shardRouter.shardOf(source), () -> outboxRepository.count()));
+        }
+
+        @Test
+        @Tag("shard")
+        void testPagesAndStreamsCoverAllShards() {
+                Set<String> created = new HashSet<>();
+                for (int i = 0; i < 10; i++) {
+                        created.add(createAccount("Page " + i).getAccountNumber());
+                }
+
+                List<String> paged = new ArrayList<>();
+                long after = 0;
+                CursorPage<AccountSummary> page;
+                do {
+                        page = accountService.getAccountPage(after, 3);
+                        page.getItems().forEach(account -> paged.add(account.getAccountNumber()));
+                        after = page.getNextCursor() == null ? 0 : Long.parseLong(page.getNextCursor());
+                } while (page.getNextCursor() != null);
+                assertEquals(created.size(), paged.size());
+                assertEquals(created, new HashSet<>(paged));
+
+                List<String> streamed = new ArrayList<>();
+                accountService.streamAllAccounts(account -> streamed.add(account.getAccountNumber()));
+                assertEquals(created, new HashSet<>(streamed));
+                assertEquals(created.size(), streamed.size());
+        }
+
+        @Test
+        @Tag("shard")
+        void testBatchSpanningShardsIsRejected() {
+                List<AccountModel> pair = accountsOnDifferentShards();
+                TransferInput transfer = new TransferInput();
+                transfer.setFromAccount(pair.get(0).getAccountNumber());
+                transfer.setToAccount(pair.get(1).getAccountNumber());
+                transfer.setAmount(1_00);
+
+                IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                                () -> accountService.transferBatch(List.of(transfer), BatchMode.ALL_OR_NOTHING));
+                assertTrue(e.getMessage().contains("same shard"));
+        }
+
+        @Test
+        @Tag("shard")
+        void testReactiveStackIsUnavailable() {
+                String accountNumber = createAccount("Reactive").getAccountNumber();
+
+                RestAssured.given()
+                                .when()
+                                .get("/reactive/account/" + accountNumber + "/balance")
+                                .then()
+                                .statusCode(503)
+                                .body("error", containsString("several shards"));
+                RestAssured.given()
+                                .contentType("application/json")
+                                .body(Map.of("amount", 10))
+                                .when()
+                                .post("/reactive/account/" + accountNumber + "/deposit")
+                                .then()
+                                .statusCode(503);
+                assertEquals(0, accountService.getAccount(accountNumber).getBalance());
+        }
+
+        private AccountModel createAccount(String lastName) {
+                AccountInput input = new AccountInput();
+                input.setFirstName("Sharded");
+                input.setLastName(lastName);
+                return accountService.createAccount(input);
+        }
+
+        private List<AccountModel> accountsOnDifferentShards() {
+                AccountModel first = createAccount("First");
+                AccountModel second;
+                do {
+                        second = createAccount("Second");
+                } while (shardRouter.shardOf(second.getAccountNumber())
+                                .equals(shardRouter.shardOf(first.getAccountNumber())));
+                return List.of(first, second);
+        }
+
+        private List<LedgerEntryModel> history(String accountNumber, LedgerEntryType type) {
+                return accountService.getTransactionPage(
+                                new LedgerHistoryFilter(accountNumber, null, null, Set.of(type)), null, 10).getItems();
+        }
+
+        private <T> T onShard(String shard, Supplier<T> action) {
+                return shardRouter.call(shard, () -> QuarkusTransaction.requiringNew().call(action::get));
+        }
+}
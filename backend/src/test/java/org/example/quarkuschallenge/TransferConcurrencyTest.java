@@ -0,0 +1,213 @@
+package org.example.quarkuschallenge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountRepository;
+import org.example.quarkuschallenge.account.AccountService;
+import org.example.quarkuschallenge.account.InsufficientFundsException;
+import org.example.quarkuschallenge.account.TransferEngine;
+import org.example.quarkuschallenge.account.input.AccountInput;
+import org.example.quarkuschallenge.ledger.BalanceSnapshotJob;
+import org.example.quarkuschallenge.ledger.LedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+class TransferConcurrencyTest {
+
+        private static final int ACCOUNTS = 10;
+        private static final int HOT_ACCOUNTS = 2;
+        private static final long INITIAL_BALANCE = 1_000_00;
+        private static final int THREADS = 16;
+        private static final int TRANSFERS_PER_THREAD = 100;
+
+        @Inject
+        AccountRepository accountRepository;
+
+        @Inject
+        AccountService accountService;
+
+        @Inject
+        LedgerRepository ledgerRepository;
+
+        @Inject
+        BalanceSnapshotJob balanceSnapshotJob;
+
+        @Inject
+        AgroalDataSource dataSource;
+
+        @BeforeEach
+        @Transactional
+        void purgeDatabase() {
+                accountRepository.deleteAll();
+                ledgerRepository.deleteAll();
+        }
+
+        @ParameterizedTest
+        @EnumSource(value = TransferEngine.class, names = { "ATOMIC", "LOCKING", "LEDGER" })
+        @Tag("transfer")
+        void testConcurrentTransfersPreserveTotalBalance(TransferEngine engine) throws Exception {
+                List<String> accountNumbers = new ArrayList<>();
+                for (int i = 0; i < ACCOUNTS; i++) {
+                        AccountInput input = new AccountInput();
+                        input.setFirstName("Stress");
+                        input.setLastName("Account " + i);
+                        AccountModel account = accountService.createAccount(input);
+                        accountService.depositMoney(account.getAccountNumber(), INITIAL_BALANCE, engine);
+                        accountNumbers.add(account.getAccountNumber());
+                }
+
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                        futures.add(executor.submit(() -> {
+                                ThreadLocalRandom random = ThreadLocalRandom.current();
+                                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                                        // Most transfers go between the hot accounts, in both directions.
+                                        int from = random.nextInt(4) == 0 ? random.nextInt(ACCOUNTS)
+                                                        : random.nextInt(HOT_ACCOUNTS);
+                                        int to = random.nextInt(4) == 0 ? random.nextInt(ACCOUNTS)
+                                                        : random.nextInt(HOT_ACCOUNTS);
+                                        if (from == to) {
+                                                to = (to + 1) % ACCOUNTS;
+                                        }
+                                        try {
+                                                accountService.transferMoney(accountNumbers.get(from),
+                                                                accountNumbers.get(to), 1 + random.nextInt(100), engine);
+                                        } catch (IllegalArgumentException e) {
+                                                assertEquals("Insufficient balance in source account", e.getMessage());
+                                        }
+                                }
+                                return null;
+                        }));
+                }
+                for (Future<?> future : futures) {
+                        future.get();
+                }
+                executor.shutdown();
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+
+                assertEquals(ACCOUNTS * INITIAL_BALANCE, effectiveTotalBalance());
+                balanceSnapshotJob.fold();
+                assertEquals(ACCOUNTS * INITIAL_BALANCE, storedTotalBalance());
+                assertEquals(0, ledgerRepository.unappliedSums().size());
+        }
+
+        @Test
+        @Tag("transfer")
+        void testLedgerEntriesAreFoldedIntoBalances() {
+                String source = createAccount("Source");
+                String destination = createAccount("Destination");
+
+                accountService.depositMoney(source, 100_00, TransferEngine.LEDGER);
+                accountService.transferMoney(source, destination, 30_00, TransferEngine.LEDGER);
+                accountService.transferMoney(destination, source, 5_00, TransferEngine.LOCKING);
+
+                assertEquals(75_00, accountService.getAccount(source).getBalance());
+                assertEquals(25_00, accountService.getAccount(destination).getBalance());
+                assertThrows(IllegalArgumentException.class,
+                                () -> accountService.transferMoney(destination, source, 25_01, TransferEngine.LEDGER));
+
+                balanceSnapshotJob.fold();
+
+                assertEquals(75_00, storedBalance(source));
+                assertEquals(25_00, storedBalance(destination));
+                assertEquals(5, ledgerRepository.count("accountNumber in ?1", List.of(source, destination)));
+                assertEquals(0, ledgerRepository.count("applied = false"));
+        }
+
+        @Test
+        @Tag("transfer")
+        void testLedgerTransferWaitsForTheDebitLockOfAnotherInstance() throws Exception {
+                String source = createAccount("Source");
+                String destination = createAccount("Destination");
+                accountService.depositMoney(source, 100_00, TransferEngine.LEDGER);
+
+                CompletableFuture<Void> transfer;
+                try (Connection otherInstance = dataSource.getConnection()) {
+                        // A ledger transfer of another instance: it holds the debit lock of the source and spends 80.00.
+                        otherInstance.setAutoCommit(false);
+                        try (PreparedStatement statement = otherInstance
+                                        .prepareStatement("SELECT true FROM pg_advisory_xact_lock(1, ?)")) {
+                                statement.setInt(1, debitLockKey(source));
+                                statement.executeQuery();
+                        }
+                        transfer = CompletableFuture.runAsync(
+                                        () -> accountService.transferMoney(source, destination, 30_00, TransferEngine.LEDGER));
+                        Thread.sleep(300);
+                        assertFalse(transfer.isDone());
+
+                        try (PreparedStatement statement = otherInstance.prepareStatement("INSERT INTO LedgerEntryModel"
+                                        + " (id, accountNumber, amount, type, counterparty, createdAt, applied)"
+                                        + " VALUES (nextval('LedgerEntryModel_SEQ'), ?, ?, 'TRANSFER_OUT', ?, now(), false)")) {
+                                statement.setString(1, source);
+                                statement.setLong(2, -80_00);
+                                statement.setString(3, destination);
+                                statement.executeUpdate();
+                        }
+                        otherInstance.commit();
+                }
+
+                // The check ran only once the other debit was committed, so it saw the remaining 20.00.
+                ExecutionException e = assertThrows(ExecutionException.class, () -> transfer.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(InsufficientFundsException.class, e.getCause());
+                assertEquals(20_00, accountService.getAccount(source).getBalance());
+        }
+
+        private static int debitLockKey(String accountNumber) {
+                CRC32 crc = new CRC32();
+                crc.update(accountNumber.getBytes(StandardCharsets.UTF_8));
+                return (int) crc.getValue();
+        }
+
+        private String createAccount(String lastName) {
+                AccountInput input = new AccountInput();
+                input.setFirstName("Ledger");
+                input.setLastName(lastName);
+                return accountService.createAccount(input).getAccountNumber();
+        }
+
+        long effectiveTotalBalance() {
+                long[] total = new long[1];
+                accountService.streamAllAccounts(account -> total[0] += account.getBalance());
+                return total[0];
+        }
+
+        @Transactional
+        long storedTotalBalance() {
+                return accountRepository.listAll().stream().mapToLong(AccountModel::getBalance).sum();
+        }
+
+        @Transactional
+        long storedBalance(String accountNumber) {
+                return accountRepository.find("accountNumber", accountNumber).firstResult().getBalance();
+        }
+}
@@ -0,0 +1,43 @@
+package org.example.quarkuschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.quarkuschallenge.account.AccountNumberGenerator;
+import org.example.quarkuschallenge.account.RandomAccountNumberGenerator;
+import org.example.quarkuschallenge.account.TimeOrderedAccountNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Account number generation from several threads: random UUIDs drawn from the
+ * shared {@code SecureRandom} against time-ordered ones with per-thread
+ * entropy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class AccountNumberBenchmark {
+
+        private final AccountNumberGenerator random = new RandomAccountNumberGenerator();
+        private final AccountNumberGenerator timeOrdered = new TimeOrderedAccountNumberGenerator();
+
+        @Benchmark
+        public String random() {
+                return random.next();
+        }
+
+        @Benchmark
+        public String timeOrdered() {
+                return timeOrdered.next();
+        }
+}
@@ -0,0 +1,55 @@
+package org.example.quarkuschallenge.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class AccountServiceBenchmark {
+
+        private AccountService accountService;
+        private List<String> accountNumbers;
+
+        @Setup
+        public void setUp() {
+                accountService = BenchmarkAccounts.bean(AccountService.class);
+                accountNumbers = BenchmarkAccounts.create("Service");
+        }
+
+        @Benchmark
+        public AccountModel depositMoney() {
+                return accountService.depositMoney(randomAccount(), 1);
+        }
+
+        @Benchmark
+        public AccountModel getAccount() {
+                return accountService.getAccount(randomAccount());
+        }
+
+        @Benchmark
+        public long getBalance() {
+                return accountService.getBalanceFromReplica(randomAccount());
+        }
+
+        private String randomAccount() {
+                return accountNumbers.get(ThreadLocalRandom.current().nextInt(accountNumbers.size()));
+        }
+}
@@ -0,0 +1,41 @@
+package org.example.quarkuschallenge.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.AccountService;
+import org.example.quarkuschallenge.account.input.AccountInput;
+
+import io.quarkus.arc.Arc;
+
+/**
+ * Creates the accounts the benchmarks operate on. JMH instantiates state
+ * classes itself, so beans are looked up from the running application.
+ */
+final class BenchmarkAccounts {
+
+        static final int ACCOUNTS = 100;
+        static final long INITIAL_BALANCE = 1_000_000_000_00L;
+
+        private BenchmarkAccounts() {
+        }
+
+        static <T> T bean(Class<T> type) {
+                return Arc.container().instance(type).get();
+        }
+
+        static List<String> create(String lastName) {
+                AccountService accountService = bean(AccountService.class);
+                List<String> accountNumbers = new ArrayList<>();
+                for (int i = 0; i < ACCOUNTS; i++) {
+                        AccountInput input = new AccountInput();
+                        input.setFirstName("Bench");
+                        input.setLastName(lastName + " " + i);
+                        AccountModel account = accountService.createAccount(input);
+                        accountService.depositMoney(account.getAccountNumber(), INITIAL_BALANCE);
+                        accountNumbers.add(account.getAccountNumber());
+                }
+                return accountNumbers;
+        }
+}
@@ -0,0 +1,39 @@
+package org.example.quarkuschallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.quarkuschallenge.currency.CurrencyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion against the local exchange rate stub. The rate table is fetched
+ * during setup, so the measured path is the cached one requests normally take.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CurrencyBenchmark {
+
+        private CurrencyService currencyService;
+
+        @Setup
+        public void setUp() {
+                currencyService = BenchmarkAccounts.bean(CurrencyService.class);
+                currencyService.convertCurrency(1, "USD", "DKK").await().indefinitely();
+        }
+
+        @Benchmark
+        public Double convertCurrency() {
+                return currencyService.convertCurrency(100, "USD", "DKK").await().indefinitely();
+        }
+}
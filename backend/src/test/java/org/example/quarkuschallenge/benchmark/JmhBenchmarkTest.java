@@ -0,0 +1,48 @@
+package org.example.quarkuschallenge.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Collection;
+
+import org.example.quarkuschallenge.ExchangeRateStubResource;
+import org.example.quarkuschallenge.PostgreSQLTestResource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+
+/**
+ * Runs the JMH benchmarks in this package against the started application,
+ * the test database and the exchange rate stub. Benchmarks run in-process
+ * ({@code forks(0)}) because they need the application's beans.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ * Results are written to {@code target/jmh-result.json}; a subset can be
+ * selected with {@code -Djmh.include=<regex>}.
+ */
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+@QuarkusTestResource(ExchangeRateStubResource.class)
+@Tag("benchmark")
+class JmhBenchmarkTest {
+
+        @Test
+        void runBenchmarks() throws Exception {
+                Options options = new OptionsBuilder()
+                                .include(System.getProperty("jmh.include", getClass().getPackageName() + "\\..*Benchmark"))
+                                .forks(0)
+                                .shouldFailOnError(true)
+                                .resultFormat(ResultFormatType.JSON)
+                                .result(System.getProperty("jmh.result", "target/jmh-result.json"))
+                                .build();
+
+                Collection<RunResult> results = new Runner(options).run();
+                assertFalse(results.isEmpty());
+        }
+}
@@ -0,0 +1,105 @@
+package org.example.quarkuschallenge.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.example.quarkuschallenge.account.AccountModel;
+import org.example.quarkuschallenge.account.input.DepositeInput;
+import org.example.quarkuschallenge.account.input.TransferInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * (De)serialization of the request and response bodies with the application's
+ * configured {@link ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonBenchmark {
+
+        private ObjectWriter accountWriter;
+        private ObjectReader accountReader;
+        private ObjectWriter transferWriter;
+        private ObjectReader transferReader;
+        private ObjectReader depositReader;
+        private ObjectWriter depositWriter;
+
+        private AccountModel account;
+        private TransferInput transfer;
+        private DepositeInput deposit;
+        private byte[] accountJson;
+        private byte[] transferJson;
+        private byte[] depositJson;
+
+        @Setup
+        public void setUp() throws IOException {
+                ObjectMapper objectMapper = BenchmarkAccounts.bean(ObjectMapper.class);
+                accountWriter = objectMapper.writerFor(AccountModel.class);
+                accountReader = objectMapper.readerFor(AccountModel.class);
+                transferWriter = objectMapper.writerFor(TransferInput.class);
+                transferReader = objectMapper.readerFor(TransferInput.class);
+                depositWriter = objectMapper.writerFor(DepositeInput.class);
+                depositReader = objectMapper.readerFor(DepositeInput.class);
+
+                account = new AccountModel();
+                account.setId(42L);
+                account.setFirstName("Bench");
+                account.setLastName("Account");
+                account.setAccountNumber("3f2c9a4e-8d71-4b0e-9c55-0a6e1f7d2b90");
+                account.setBalance(1234_56);
+                transfer = new TransferInput();
+                transfer.setFromAccount("3f2c9a4e-8d71-4b0e-9c55-0a6e1f7d2b90");
+                transfer.setToAccount("b81d5e07-2c4a-4f3e-a6d9-7e0c13f58a21");
+                transfer.setAmount(25_50);
+                deposit = new DepositeInput();
+                deposit.setAmount(100_00);
+
+                accountJson = accountWriter.writeValueAsBytes(account);
+                transferJson = transferWriter.writeValueAsBytes(transfer);
+                depositJson = depositWriter.writeValueAsBytes(deposit);
+        }
+
+        @Benchmark
+        public byte[] serializeAccount() throws IOException {
+                return accountWriter.writeValueAsBytes(account);
+        }
+
+        @Benchmark
+        public AccountModel deserializeAccount() throws IOException {
+                return accountReader.readValue(accountJson);
+        }
+
+        @Benchmark
+        public byte[] serializeTransferInput() throws IOException {
+                return transferWriter.writeValueAsBytes(transfer);
+        }
+
+        @Benchmark
+        public TransferInput deserializeTransferInput() throws IOException {
+                return transferReader.readValue(transferJson);
+        }
+
+        @Benchmark
+        public byte[] serializeDepositInput() throws IOException {
+                return depositWriter.writeValueAsBytes(deposit);
+        }
+
+        @Benchmark
+        public DepositeInput deserializeDepositInput() throws IOException {
+                return depositReader.readValue(depositJson);
+        }
+}
@@ -0,0 +1,52 @@
+package org.example.quarkuschallenge.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.example.quarkuschallenge.account.AccountService;
+import org.example.quarkuschallenge.account.TransferEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Transfers between random pairs of accounts, once per transfer engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class TransferBenchmark {
+
+        @Param({ "ENTITY", "ATOMIC", "LOCKING", "LEDGER" })
+        public TransferEngine engine;
+
+        private AccountService accountService;
+        private List<String> accountNumbers;
+
+        @Setup
+        public void setUp() {
+                accountService = BenchmarkAccounts.bean(AccountService.class);
+                accountNumbers = BenchmarkAccounts.create("Transfer " + engine);
+        }
+
+        @Benchmark
+        public void transferMoney() {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int size = accountNumbers.size();
+                int from = random.nextInt(size);
+                int to = (from + 1 + random.nextInt(size - 1)) % size;
+                accountService.transferMoney(accountNumbers.get(from), accountNumbers.get(to), 1, engine);
+        }
+}
@@ -0,0 +1,23 @@
+package org.example.quarkuschallenge.load;
+
+/**
+ * The endpoints the load test drives, with the weight each gets in the
+ * default request mix.
+ */
+enum Endpoint {
+    LIST(5),
+    DEPOSIT(20),
+    TRANSFER(30),
+    BALANCE(40),
+    CONVERSION(5);
+
+    final int defaultWeight;
+
+    Endpoint(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.quarkuschallenge.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from system properties so they can be set on the
+ * Maven command line, e.g. {@code mvn test -Pload -Dload.concurrency=64}.
+ */
+record LoadSettings(
+        Map<Endpoint, Integer> mix,
+        int concurrency,
+        int accounts,
+        int hotAccounts,
+        double hotRatio,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        long p99BudgetMillis,
+        double maxErrorRate) {
+
+    static LoadSettings fromSystemProperties() {
+        LoadSettings settings = new LoadSettings(
+                parseMix(System.getProperty("load.mix", "")),
+                Integer.getInteger("load.concurrency", 32),
+                Integer.getInteger("load.accounts", 1000),
+                Integer.getInteger("load.hot-accounts", 10),
+                Double.parseDouble(System.getProperty("load.hot-ratio", "0.5")),
+                Integer.getInteger("load.rate", 0),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Long.getLong("load.p99-budget-ms", 250),
+                Double.parseDouble(System.getProperty("load.max-error-rate", "0.001")));
+        if (settings.accounts < 2 || settings.hotAccounts < 1 || settings.hotAccounts > settings.accounts) {
+            throw new IllegalArgumentException("load.hot-accounts must be between 1 and load.accounts (at least 2)");
+        }
+        if (settings.hotRatio < 0 || settings.hotRatio > 1) {
+            throw new IllegalArgumentException("load.hot-ratio must be between 0 and 1");
+        }
+        return settings;
+    }
+
+    /**
+     * Parses {@code endpoint=weight} pairs such as {@code transfer=50,balance=50}.
+     * Endpoints that are not listed get weight 0; an empty value selects the
+     * default mix.
+     */
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        if (value.isBlank()) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                mix.put(endpoint, endpoint.defaultWeight);
+            }
+            return mix;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + entry);
+            }
+            mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix must contain a positive weight");
+        }
+        return mix;
+    }
+
+    /**
+     * Cumulative weights in {@link Endpoint} order, for picking an endpoint
+     * with a single random number.
+     */
+    int[] cumulativeWeights() {
+        int[] cumulative = new int[Endpoint.values().length];
+        int total = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            total += mix.getOrDefault(endpoint, 0);
+            cumulative[endpoint.ordinal()] = total;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.quarkuschallenge.load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.example.quarkuschallenge.ExchangeRateStubResource;
+import org.example.quarkuschallenge.PostgreSQLTestResource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Drives the REST API over HTTP with a configurable request mix and records
+ * per-endpoint latency histograms. Runs against the test database and the
+ * exchange rate stub, and fails when an endpoint exceeds the p99 budget or the
+ * error budget.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Pload}. The
+ * parameters are described in {@link LoadSettings} and the readme. The report
+ * is printed and written to {@code target/load-report.json}.
+ * <p>
+ * Without {@code load.rate} every worker sends its next request as soon as the
+ * previous one returns. With a rate, requests are scheduled at fixed intervals
+ * and latency is measured from the scheduled start, so a stalled server is not
+ * hidden by the workers slowing down with it.
+ */
+@QuarkusTest
+@QuarkusTestResource(PostgreSQLTestResource.class)
+@QuarkusTestResource(ExchangeRateStubResource.class)
+@Tag("load")
+class LoadTest {
+
+    private static final double INITIAL_BALANCE = 1_000_000_000;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String[] CURRENCIES = { "USD", "DKK" };
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private HttpClient client;
+
+    @Test
+    void runLoad() throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        List<String> accountNumbers = createAccounts(settings.accounts());
+
+        run(settings, accountNumbers, settings.warmup().toNanos());
+        long start = System.nanoTime();
+        List<WorkerResult> results = run(settings, accountNumbers, settings.duration().toNanos());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Long> errors = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            long failed = 0;
+            for (WorkerResult result : results) {
+                merged.add(result.latencies.get(endpoint));
+                failed += result.errors[endpoint.ordinal()];
+            }
+            latencies.put(endpoint, merged);
+            errors.put(endpoint, failed);
+        }
+
+        List<String> violations = report(settings, latencies, errors, seconds);
+        assertTrue(violations.isEmpty(), String.join("; ", violations));
+    }
+
+    private List<String> createAccounts(int count) throws IOException, InterruptedException {
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> created = send(post("account",
+                    Map.of("firstName", "Load", "lastName", "Account " + i)));
+            String accountNumber = objectMapper.readTree(created.body()).get("accountNumber").asText();
+            send(post("account/" + accountNumber + "/deposit", Map.of("amount", INITIAL_BALANCE)));
+            accountNumbers.add(accountNumber);
+        }
+        return accountNumbers;
+    }
+
+    private List<WorkerResult> run(LoadSettings settings, List<String> accountNumbers, long durationNanos)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        long deadline = System.nanoTime() + durationNanos;
+        int[] cumulativeWeights = settings.cumulativeWeights();
+        long intervalNanos = settings.rate() > 0
+                ? TimeUnit.SECONDS.toNanos(settings.concurrency()) / settings.rate()
+                : 0;
+
+        List<Future<WorkerResult>> futures = new ArrayList<>();
+        for (int t = 0; t < settings.concurrency(); t++) {
+            futures.add(executor.submit(() -> {
+                WorkerResult result = new WorkerResult();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long scheduled = System.nanoTime();
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = pick(cumulativeWeights, random);
+                    HttpRequest request = request(endpoint, settings, accountNumbers, random);
+
+                    long requestStart = System.nanoTime();
+                    if (intervalNanos > 0) {
+                        scheduled += intervalNanos;
+                        if (scheduled > requestStart) {
+                            LockSupport.parkNanos(scheduled - requestStart);
+                        }
+                        requestStart = scheduled;
+                    }
+                    boolean failed;
+                    try {
+                        failed = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+                    } catch (IOException e) {
+                        failed = true;
+                    }
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - requestStart);
+                    result.latencies.get(endpoint).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (failed) {
+                        result.errors[endpoint.ordinal()]++;
+                    }
+                }
+                return result;
+            }));
+        }
+
+        List<WorkerResult> results = new ArrayList<>();
+        for (Future<WorkerResult> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return results;
+    }
+
+    private static Endpoint pick(int[] cumulativeWeights, ThreadLocalRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (value >= cumulativeWeights[index]) {
+            index++;
+        }
+        return Endpoint.values()[index];
+    }
+
+    /**
+     * With probability {@code hotRatio} the account comes from the first
+     * {@code hotAccounts} accounts, otherwise from the whole set.
+     */
+    private static String account(LoadSettings settings, List<String> accountNumbers, ThreadLocalRandom random) {
+        int bound = random.nextDouble() < settings.hotRatio() ? settings.hotAccounts() : accountNumbers.size();
+        return accountNumbers.get(random.nextInt(bound));
+    }
+
+    private HttpRequest request(Endpoint endpoint, LoadSettings settings, List<String> accountNumbers,
+            ThreadLocalRandom random) throws IOException {
+        return switch (endpoint) {
+            case LIST -> get("account?limit=100");
+            case DEPOSIT -> post("account/" + account(settings, accountNumbers, random) + "/deposit",
+                    Map.of("amount", 1));
+            case TRANSFER -> {
+                String from = account(settings, accountNumbers, random);
+                String to = account(settings, accountNumbers, random);
+                while (to.equals(from)) {
+                    to = account(settings, accountNumbers, random);
+                }
+                yield post("account/transfer", Map.of("fromAccount", from, "toAccount", to, "amount", 1));
+            }
+            case BALANCE -> get("account/" + account(settings, accountNumbers, random) + "/balance");
+            case CONVERSION -> {
+                int base = random.nextInt(CURRENCIES.length);
+                yield get("currency/conversion/" + CURRENCIES[base] + "/" + CURRENCIES[1 - base] + "/100");
+            }
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode());
+        }
+        return response;
+    }
+
+    private List<String> report(LoadSettings settings, Map<Endpoint, Histogram> latencies, Map<Endpoint, Long> errors,
+            double seconds) throws IOException {
+        List<String> violations = new ArrayList<>();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.printf("%n%-11s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long requests = histogram.getTotalCount();
+            if (requests == 0) {
+                continue;
+            }
+            long failed = errors.get(endpoint);
+            double p99 = millis(histogram, 99);
+            System.out.printf("%-11s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.key(), requests, failed, requests / seconds,
+                    millis(histogram, 50), p99, millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", requests);
+            stats.put("errors", failed);
+            stats.put("throughput", requests / seconds);
+            stats.put("p50Millis", millis(histogram, 50));
+            stats.put("p99Millis", p99);
+            stats.put("p999Millis", millis(histogram, 99.9));
+            stats.put("maxMillis", histogram.getMaxValue() / 1000.0);
+            endpoints.put(endpoint.key(), stats);
+
+            if (p99 > settings.p99BudgetMillis()) {
+                violations.add(String.format("%s p99 %.2f ms exceeds the %d ms budget",
+                        endpoint.key(), p99, settings.p99BudgetMillis()));
+            }
+            if ((double) failed / requests > settings.maxErrorRate()) {
+                violations.add(String.format("%s error rate %d/%d exceeds %s",
+                        endpoint.key(), failed, requests, settings.maxErrorRate()));
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("durationSeconds", seconds);
+        report.put("endpoints", endpoints);
+        File file = new File(System.getProperty("load.report", "target/load-report.json"));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println("Load report is saved to " + file);
+        return violations;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class WorkerResult {
+        private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+        private final long[] errors = new long[Endpoint.values().length];
+
+        private WorkerResult() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.put(endpoint, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+            }
+        }
+    }
+}
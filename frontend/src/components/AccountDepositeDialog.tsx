@@ -4,13 +4,11 @@ import React, { useState } from "react";
 interface DepositDialogProps {
   account: { accountNumber: string; firstName: string; lastName: string };
   onClose: () => void;
-  onSuccess: () => void;
 }
 
 const AccountDepositeDialog: React.FC<DepositDialogProps> = ({
   account,
   onClose,
-  onSuccess,
 }) => {
   const [amount, setAmount] = useState<number | string>("");
   const [error, setError] = useState<string>("");
@@ -28,9 +26,8 @@ const AccountDepositeDialog: React.FC<DepositDialogProps> = ({
     try {
       await axios.post(
         `http://localhost:8080/account/${account.accountNumber}/deposit`,
-        { amount: amount }
+        { amount: Number(amount) }
       );
-      onSuccess();
       onClose();
     } catch {
       setError("Failed to deposit. Please try again.");
@@ -16,7 +16,26 @@ const AccountList = () => {
   const [showTransferDialog, setShowTransferDialog] = useState<boolean>(false);
 
   useEffect(() => {
-    fetchAccounts();
+    // The server pushes every changed account instead of the list being
+    // reloaded after each write. The list is loaded whenever the stream
+    // (re)connects, which picks up changes missed while disconnected.
+    const events = new EventSource("http://localhost:8080/account/events");
+    events.onopen = fetchAccounts;
+    events.onmessage = (event) => {
+      const changed: Account = JSON.parse(event.data);
+      setAccounts((current) =>
+        current.some(
+          (account) => account.accountNumber === changed.accountNumber
+        )
+          ? current.map((account) =>
+              account.accountNumber === changed.accountNumber
+                ? changed
+                : account
+            )
+          : [...current, changed]
+      );
+    };
+    return () => events.close();
   }, []);
 
   const fetchAccounts = () => {
@@ -70,7 +89,6 @@ const AccountList = () => {
         <AccountDepositeDialog
           account={selectedAccount}
           onClose={() => setSelectedAccount(null)}
-          onSuccess={fetchAccounts}
         />
       )}
 
@@ -82,7 +100,6 @@ const AccountList = () => {
             setSelectedAccount(null);
             setShowTransferDialog(false);
           }}
-          onSuccess={fetchAccounts}
         />
       )}
     </div>
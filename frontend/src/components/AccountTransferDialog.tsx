@@ -12,14 +12,12 @@ interface TransferDialogProps {
   baseAccount: Account;
   accounts: Account[];
   onClose: () => void;
-  onSuccess: () => void;
 }
 
 const TransferDialog: React.FC<TransferDialogProps> = ({
   baseAccount,
   accounts,
   onClose,
-  onSuccess,
 }) => {
   const [toAccountNumber, setToAccountNumber] = useState<string>("");
   const [amount, setAmount] = useState<number | string>("");
@@ -54,7 +52,6 @@ const TransferDialog: React.FC<TransferDialogProps> = ({
         toAccount: toAccountNumber,
         amount: Number(amount),
       });
-      onSuccess();
       onClose();
     } catch (err) {
       console.error(err);